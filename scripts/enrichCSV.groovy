@@ -12,7 +12,13 @@ def yaml = new Yaml().load(fileReader)
 yaml.spec.install.spec.clusterPermissions.rules[0][1] = [:]
 yaml.spec.install.spec.clusterPermissions.rules[0][1].apiGroups = ['config.openshift.io']
 yaml.spec.install.spec.clusterPermissions.rules[0][1].resources = ['ingresses']
-yaml.spec.install.spec.clusterPermissions.rules[0][1].verbs = ['get', 'list']
+yaml.spec.install.spec.clusterPermissions.rules[0][1].verbs = ['get', 'list', 'watch']
+
+// Adding cluster permissions to be able to check if the StorageClass of a PVC, or the default one, allows volume expansion
+yaml.spec.install.spec.clusterPermissions.rules[0][2] = [:]
+yaml.spec.install.spec.clusterPermissions.rules[0][2].apiGroups = ['storage.k8s.io']
+yaml.spec.install.spec.clusterPermissions.rules[0][2].resources = ['storageclasses']
+yaml.spec.install.spec.clusterPermissions.rules[0][2].verbs = ['get', 'list']
 
 DumperOptions options = new DumperOptions();
 options.indent = 2
@@ -0,0 +1,212 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.SecretKeySelector;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.DefaultManagedDependentResourceContext;
+import org.jboss.windup.operator.AppServerConfig;
+import org.jboss.windup.operator.Config;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ExecutorAutoscaler;
+import org.jboss.windup.operator.controllers.WindupDistConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the desired state builders run on every reconcile. Run with the "gc" profiler,
+ * enabled by default in the benchmark profile, to get the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DesiredStateBenchmark {
+
+    @Param({"minimal", "full"})
+    public String spec;
+
+    private Windup cr;
+    private Context<Windup> context;
+
+    private WebDeployment webDeployment;
+    private ExecutorDeployment executorDeployment;
+    private DBDeployment dbDeployment;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cr = newWindup("full".equals(spec));
+        context = newContext(cr);
+
+        Config config = newConfig();
+
+        webDeployment = new WebDeployment();
+        webDeployment.config = config;
+        webDeployment.appServerConfig = AppServerConfig.builder()
+                .webLivenessProbeCmd(new String[]{"/bin/sh", "-c", "livenessProbe.sh"})
+                .webReadinessProbeCmd(new String[]{"/bin/sh", "-c", "readinessProbe.sh"})
+                .build();
+
+        executorDeployment = new ExecutorDeployment();
+        executorDeployment.config = config;
+        executorDeployment.executorAutoscaler = new ExecutorAutoscaler();
+
+        dbDeployment = new DBDeployment();
+        dbDeployment.config = config;
+    }
+
+    @Benchmark
+    public Deployment webDeployment() {
+        return webDeployment.desired(cr, context);
+    }
+
+    @Benchmark
+    public Deployment executorDeployment() {
+        return executorDeployment.desired(cr, context);
+    }
+
+    @Benchmark
+    public Deployment dbDeployment() {
+        return dbDeployment.desired(cr, context);
+    }
+
+    @Benchmark
+    public WindupDistConfigurator windupDistConfigurator() {
+        return new WindupDistConfigurator(cr);
+    }
+
+    private static Windup newWindup(boolean full) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("windup")
+                .withNamespace("benchmark")
+                .withUid("7d7a7f5e-9a7c-4f4e-8a55-2f1d7b1c3e90")
+                .build()
+        );
+        if (!full) {
+            return cr;
+        }
+
+        WindupSpec.ResourcesLimitSpec resourcesLimitSpec = WindupSpec.ResourcesLimitSpec.builder()
+                .cpuRequest("1")
+                .cpuLimit("2")
+                .memoryRequest("1Gi")
+                .memoryLimit("2Gi")
+                .build();
+
+        WindupSpec spec = cr.getSpec();
+        spec.setExecutorInstances(3);
+        spec.setDataSize("50G");
+        spec.setImagePullSecrets(List.of(new LocalObjectReference("registry-secret")));
+        spec.setDatabaseSpec(WindupSpec.DatabaseSpec.builder()
+                .size("10G")
+                .resourceLimitSpec(resourcesLimitSpec)
+                .build()
+        );
+        spec.setHostnameSpec(WindupSpec.HostnameSpec.builder()
+                .hostname("windup.example.com")
+                .build()
+        );
+        spec.setHttpSpec(WindupSpec.HttpSpec.builder()
+                .tlsSecret("windup-tls")
+                .build()
+        );
+        spec.setSsoSpec(WindupSpec.SSOSpec.builder()
+                .serverUrl("https://sso.example.com/auth")
+                .realm("windup")
+                .sslRequired("EXTERNAL")
+                .clientId("windup-web")
+                .build()
+        );
+        spec.setWebResourceLimitSpec(resourcesLimitSpec);
+        spec.setExecutorResourceLimitSpec(resourcesLimitSpec);
+        spec.setJgroupsSpec(WindupSpec.JGroupsSpec.builder()
+                .encryptSecret("jgroups-keystore")
+                .encryptKeystore("keystore.jks")
+                .encryptName("jgroups")
+                .encryptPassword(new SecretKeySelector("password", "jgroups-secret", false))
+                .clusterPassword(new SecretKeySelector("cluster-password", "jgroups-secret", false))
+                .build()
+        );
+        return cr;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Context<Windup> newContext(Windup cr) {
+        final var dependentContext = new DefaultManagedDependentResourceContext();
+        dependentContext.put(Constants.CONTEXT_LABELS_KEY, Map.of(
+                Constants.MANAGED_BY_LABEL, Constants.MANAGED_BY_VALUE,
+                "app.kubernetes.io/name", cr.getMetadata().getName(),
+                "app.kubernetes.io/part-of", cr.getMetadata().getName(),
+                "windup-operator/cluster", Constants.WINDUP_NAME
+        ));
+
+        // The builders only read the dependent context and the actual state, there is none yet
+        return (Context<Windup>) Proxy.newProxyInstance(
+                DesiredStateBenchmark.class.getClassLoader(),
+                new Class[]{Context.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("managedDependentResourceContext")) {
+                        return dependentContext;
+                    }
+                    if (method.getName().equals("getSecondaryResource")) {
+                        return Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    private static Config newConfig() {
+        return new Config() {
+            @Override
+            public String webImage() {
+                return "quay.io/windupeng/windup-web-openshift:latest";
+            }
+
+            @Override
+            public String executorImage() {
+                return "quay.io/windupeng/windup-web-openshift-messaging-executor:latest";
+            }
+
+            @Override
+            public String dbImage() {
+                return "registry.access.redhat.com/rhscl/postgresql-10-rhel7:1";
+            }
+
+            @Override
+            public String dbPoolerImage() {
+                return "docker.io/bitnami/pgbouncer:1.19.0";
+            }
+
+            @Override
+            public String dbPoolerExporterImage() {
+                return "quay.io/prometheuscommunity/pgbouncer-exporter:v0.7.0";
+            }
+
+            @Override
+            public String imagePullPolicy() {
+                return "Always";
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package org.jboss.windup.operator;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigMapping(prefix = "windup.executor-autoscaler")
+public interface AutoscalerConfig {
+
+    /**
+     * Base URL of the Web Console. Formatted with the web service name, namespace and port.
+     */
+    @WithName("web-url")
+    @WithDefault("http://%s.%s.svc:%d")
+    String webUrl();
+
+    @WithName("pending-analyses-path")
+    @WithDefault("/windup-web-services/rest/windup/executions")
+    String pendingAnalysesPath();
+
+    @WithName("pending-states")
+    @WithDefault("QUEUED,STARTED")
+    List<String> pendingStates();
+
+    @WithName("request-timeout")
+    @WithDefault("5s")
+    Duration requestTimeout();
+}
@@ -15,6 +15,12 @@ public interface Config {
     @WithName("postgresql")
     String dbImage();
 
+    @WithName("pgbouncer")
+    String dbPoolerImage();
+
+    @WithName("pgbouncer.exporter")
+    String dbPoolerExporterImage();
+
     @WithName("pull-policy")
     String imagePullPolicy();
 }
@@ -7,45 +7,153 @@ public class Constants {
     public static final String CRDS_VERSION = "v1";
 
     public static final String CONTEXT_LABELS_KEY = "labels";
+    public static final String CONTEXT_API_CALLS_KEY = "apiCalls";
+    public static final String CONTEXT_RECONCILE_START_KEY = "reconcileStart";
+
+    //
+    public static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+    public static final String MANAGED_BY_VALUE = "windup-operator";
+    public static final String MANAGED_BY_LABEL_SELECTOR = MANAGED_BY_LABEL + "=" + MANAGED_BY_VALUE;
+    public static final String PART_OF_LABEL = "app.kubernetes.io/part-of";
+
+    public static final String FIELD_MANAGER = "windup-operator";
+    public static final String SPEC_HASH_ANNOTATION = "windup-operator/spec-hash";
 
     //
     public static final String WINDUP_NAME = "windup";
     public static final String WINDUP_WEB_NAME = "windup-web";
     public static final String WINDUP_EXECUTOR_NAME = "windup-executor";
     public static final String WINDUP_DB_NAME = "postgresql";
+    public static final String WINDUP_DB_POOLER_NAME = "pgbouncer";
 
     //
     public static final Map<String, String> DB_SELECTOR_LABELS = Map.of(
             "windup-operator/group", "db"
     );
+    public static final Map<String, String> DB_POOLER_SELECTOR_LABELS = Map.of(
+            "windup-operator/group", "db-pooler"
+    );
     public static final Map<String, String> WEB_SELECTOR_LABELS = Map.of(
             "windup-operator/group", "web"
     );
+    public static final Map<String, String> EXECUTOR_SELECTOR_LABELS = Map.of(
+            "windup-operator/group", "executor"
+    );
 
     //
     public static final Integer HTTP_PORT = 8080;
     public static final Integer HTTPS_PORT = 8443;
     public static final String SERVICE_PROTOCOL = "TCP";
+    public static final Integer JGROUPS_PING_PORT = 8888;
+    public static final String JGROUPS_PING_PROTOCOL = "openshift.KUBE_PING";
+    public static final String WEB_SESSION_COOKIE_NAME = "WINDUP_ROUTE";
 
     //
     public static final String DB_PVC_SUFFIX = "-" + WINDUP_DB_NAME + "-pvc";
     public static final String DB_SECRET_SUFFIX = "-" + WINDUP_DB_NAME + "-secret";
     public static final String DB_DEPLOYMENT_SUFFIX = "-" + WINDUP_DB_NAME + "-deployment";
     public static final String DB_SERVICE_SUFFIX = "-" + WINDUP_DB_NAME + "-service";
+    public static final String DB_CONFIGMAP_SUFFIX = "-" + WINDUP_DB_NAME + "-config";
+
+    public static final String DB_POOLER_DEPLOYMENT_SUFFIX = "-" + WINDUP_DB_POOLER_NAME + "-deployment";
+    // The Web Console maps the datasource from a <name>-postgresql service
+    public static final String DB_POOLER_SERVICE_SUFFIX = "-" + WINDUP_DB_POOLER_NAME + "-" + WINDUP_DB_NAME;
+
+    public static final String DB_BACKUP_PVC_SUFFIX = "-" + WINDUP_DB_NAME + "-backup-pvc";
+    public static final String DB_BACKUP_CRONJOB_SUFFIX = "-" + WINDUP_DB_NAME + "-backup";
+    public static final String DB_RESTORE_JOB_SUFFIX = "-" + WINDUP_DB_NAME + "-restore";
 
     public static final String WEB_PVC_SUFFIX = "-" + WINDUP_WEB_NAME + "-pvc";
     public static final String WEB_DEPLOYMENT_SUFFIX = "-" + WINDUP_WEB_NAME + "-deployment";
     public static final String WEB_SERVICE_SUFFIX = "-" + WINDUP_WEB_NAME + "-service";
+    public static final String WEB_PING_SERVICE_SUFFIX = "-" + WINDUP_WEB_NAME + "-ping";
+    public static final String WEB_SERVICE_ACCOUNT_SUFFIX = "-" + WINDUP_WEB_NAME;
+    public static final String WEB_ROLE_SUFFIX = "-" + WINDUP_WEB_NAME + "-ping";
 
     public static final String EXECUTOR_DEPLOYMENT_SUFFIX = "-" + WINDUP_EXECUTOR_NAME + "-deployment";
+    public static final String EXECUTOR_HPA_SUFFIX = "-" + WINDUP_EXECUTOR_NAME + "-hpa";
 
     public static final String INGRESS_SUFFIX = "-" + WINDUP_WEB_NAME + "-ingress";
     public static final String INGRESS_SECURE_SUFFIX = "-" + WINDUP_WEB_NAME + "-secure-ingress";
 
+    //
+    public static final String WINDUP_CPU_LIMIT = "4";
+    public static final String WINDUP_MEMORY_LIMIT = "4Gi";
+
+    public static final String EXECUTOR_SCRATCH_MEDIUM_DISK = "Disk";
+    public static final String EXECUTOR_SCRATCH_MEDIUM_MEMORY = "Memory";
+    public static final String EXECUTOR_SCRATCH_MEDIUM_EPHEMERAL = "Ephemeral";
+    public static final String EXECUTOR_SCRATCH_EPHEMERAL_SIZE = "20Gi";
+
+    public static final long EXECUTOR_TERMINATION_GRACE_PERIOD_SECONDS = 75L;
+    public static final String EXECUTOR_BUSY_ANNOTATION = "windup.jboss.org/executor-busy";
+    public static final String POD_DELETION_COST_ANNOTATION = "controller.kubernetes.io/pod-deletion-cost";
+    public static final int EXECUTOR_BUSY_DELETION_COST = 1000;
+    public static final int EXECUTOR_BUSY_PROBE_TIMEOUT_SECONDS = 10;
+    public static final int EXECUTOR_BUSY_PROBE_THREADS = 4;
+
+    public static final String ANTI_AFFINITY_PREFERRED = "Preferred";
+    public static final String ANTI_AFFINITY_REQUIRED = "Required";
+    public static final String ANTI_AFFINITY_NONE = "None";
+    public static final String TOPOLOGY_KEY_HOSTNAME = "kubernetes.io/hostname";
+    public static final String TOPOLOGY_KEY_ZONE = "topology.kubernetes.io/zone";
+
+    public static final int PROBE_STARTUP_PERIOD_SECONDS = 5;
+    public static final int PROBE_STARTUP_FAILURE_THRESHOLD = 60;
+    public static final int PROBE_PERIOD_SECONDS = 10;
+    public static final int PROBE_TIMEOUT_SECONDS = 10;
+    public static final int PROBE_FAILURE_THRESHOLD = 3;
+
+    public static final String DEPLOYMENT_STRATEGY_ROLLING_UPDATE = "RollingUpdate";
+    public static final String DEPLOYMENT_STRATEGY_RECREATE = "Recreate";
+    public static final String DEPLOYMENT_MAX_SURGE = "25%";
+    public static final String DEPLOYMENT_MAX_UNAVAILABLE = "0";
+
     //
     public static final String DB_SECRET_USERNAME = "username";
     public static final String DB_SECRET_PASSWORD = "password";
     public static final String DB_SECRET_DATABASE_NAME = "database";
 
     public static final String POSTGRESQL_PVC_SIZE = "10G";
+    public static final String POSTGRESQL_CPU_LIMIT = "2";
+    public static final String POSTGRESQL_MEMORY_LIMIT = "2Gi";
+
+    public static final int POSTGRESQL_PORT = 5432;
+
+    public static final int DB_POOLER_PORT = 6432;
+    public static final int DB_POOLER_METRICS_PORT = 9127;
+    public static final String DB_POOLER_POOL_MODE = "session";
+    public static final int DB_POOLER_DEFAULT_POOL_SIZE = 20;
+    public static final int DB_POOLER_MAX_CLIENT_CONNECTIONS = 1000;
+
+    public static final String DB_BACKUP_SCHEDULE = "0 2 * * *";
+    public static final String DB_BACKUP_PVC_SIZE = "10Gi";
+    public static final int DB_BACKUP_PARALLEL_JOBS = 4;
+    public static final int DB_BACKUP_COMPRESSION_LEVEL = 6;
+    public static final int DB_BACKUP_RETENTION = 7;
+    public static final String DB_BACKUP_MOUNT_PATH = "/backup";
+    public static final String DB_BACKUP_LATEST = "latest";
+    public static final String DB_DUMP_STATE_PENDING = "Pending";
+    public static final String DB_DUMP_STATE_RUNNING = "Running";
+    public static final String DB_DUMP_STATE_SUCCEEDED = "Succeeded";
+    public static final String DB_DUMP_STATE_FAILED = "Failed";
+
+    // Files of this directory are included at the end of postgresql.conf by the PostgreSQL image
+    public static final String POSTGRESQL_CONFIG_DIR = "/opt/app-root/src/postgresql-cfg";
+    public static final String POSTGRESQL_CONFIG_FILE = "windup.conf";
+    public static final String POSTGRESQL_CONFIG_HASH_ANNOTATION = "windup-operator/postgresql-config-hash";
+
+    //
+    public static final int EXECUTOR_AUTOSCALING_MIN_INSTANCES = 1;
+    public static final int EXECUTOR_AUTOSCALING_MAX_INSTANCES = 5;
+    public static final int EXECUTOR_AUTOSCALING_ANALYSES_PER_INSTANCE = 1;
+    public static final int EXECUTOR_AUTOSCALING_POLL_INTERVAL_SECONDS = 30;
+    public static final int EXECUTOR_AUTOSCALING_SCALE_UP_COOLDOWN_SECONDS = 60;
+    public static final int EXECUTOR_AUTOSCALING_SCALE_DOWN_COOLDOWN_SECONDS = 300;
+    public static final int EXECUTOR_AUTOSCALING_POLL_THREADS = 4;
+
+    public static final int EXECUTOR_HPA_MIN_REPLICAS = 1;
+    public static final int EXECUTOR_HPA_MAX_REPLICAS = 5;
+    public static final int EXECUTOR_HPA_TARGET_CPU_UTILIZATION = 80;
+    public static final int EXECUTOR_HPA_SCALE_DOWN_STABILIZATION_SECONDS = 300;
 }
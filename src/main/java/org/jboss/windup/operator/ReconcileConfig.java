@@ -0,0 +1,53 @@
+package org.jboss.windup.operator;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "windup.reconcile")
+public interface ReconcileConfig {
+
+    /**
+     * Delay before the first fallback reconcile while the dependents are not ready.
+     * Readiness changes are received as informer events, so this is only a safety net.
+     */
+    @WithName("readiness-initial-backoff")
+    @WithDefault("10s")
+    Duration readinessInitialBackoff();
+
+    @WithName("readiness-max-backoff")
+    @WithDefault("5m")
+    Duration readinessMaxBackoff();
+
+    @WithName("readiness-backoff-multiplier")
+    @WithDefault("2")
+    double readinessBackoffMultiplier();
+
+    /**
+     * Time before reading the cluster domain again when it could not be found, e.g. on Kubernetes,
+     * or when its changes could not be watched.
+     */
+    @WithName("cluster-domain-negative-cache-ttl")
+    @WithDefault("10m")
+    Duration clusterDomainNegativeCacheTtl();
+
+    /**
+     * Time the StorageClasses are cached, they are only read to know whether a PVC can be expanded.
+     */
+    @WithName("storage-class-cache-ttl")
+    @WithDefault("5m")
+    Duration storageClassCacheTtl();
+
+    /**
+     * Reconciles of a single Windup allowed per period, events beyond it are delayed. 0 disables the limit.
+     */
+    @WithName("rate-limit-max-reconciliations")
+    @WithDefault("5")
+    int rateLimitMaxReconciliations();
+
+    @WithName("rate-limit-period")
+    @WithDefault("1s")
+    Duration rateLimitPeriod();
+}
@@ -0,0 +1,25 @@
+package org.jboss.windup.operator;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.util.Optional;
+
+@ConfigMapping(prefix = "windup.sharding")
+public interface ShardingConfig {
+
+    /**
+     * Number of operator replicas the Windup instances are spread across.
+     */
+    @WithName("count")
+    @WithDefault("1")
+    int count();
+
+    /**
+     * Shard handled by this replica, ignored when there is a single shard. Defaults to the ordinal of the pod
+     * when the replicas run as a StatefulSet, e.g. windup-operator-2.
+     */
+    @WithName("index")
+    Optional<Integer> index();
+}
@@ -8,7 +8,7 @@ import io.quarkiverse.operatorsdk.bundle.runtime.SharedCSVMetadata;
         permissionRules = {
                 @CSVMetadata.PermissionRule(
                         apiGroups = {""},
-                        resources = {"pods", "persistentvolumeclaims", "services", "configmaps", "secrets"},
+                        resources = {"pods", "pods/exec", "persistentvolumeclaims", "services", "configmaps", "secrets", "serviceaccounts"},
                         verbs = {"*"}
                 ),
                 @CSVMetadata.PermissionRule(
@@ -25,13 +25,28 @@ import io.quarkiverse.operatorsdk.bundle.runtime.SharedCSVMetadata;
                         apiGroups = {"apps", "extensions"},
                         resources = {"deployments"},
                         verbs = {"*"}
+                ),
+                @CSVMetadata.PermissionRule(
+                        apiGroups = {"rbac.authorization.k8s.io"},
+                        resources = {"roles", "rolebindings"},
+                        verbs = {"*"}
+                ),
+                @CSVMetadata.PermissionRule(
+                        apiGroups = {"autoscaling"},
+                        resources = {"horizontalpodautoscalers"},
+                        verbs = {"*"}
+                ),
+                @CSVMetadata.PermissionRule(
+                        apiGroups = {"batch"},
+                        resources = {"cronjobs", "jobs"},
+                        verbs = {"*"}
                 )
         },
         installModes = {
                 @CSVMetadata.InstallMode(type = "OwnNamespace", supported = true),
-                @CSVMetadata.InstallMode(type = "SingleNamespace", supported = false),
-                @CSVMetadata.InstallMode(type = "MultiNamespace", supported = false),
-                @CSVMetadata.InstallMode(type = "AllNamespaces", supported = false)
+                @CSVMetadata.InstallMode(type = "SingleNamespace", supported = true),
+                @CSVMetadata.InstallMode(type = "MultiNamespace", supported = true),
+                @CSVMetadata.InstallMode(type = "AllNamespaces", supported = true)
         },
         icon = @CSVMetadata.Icon(fileName = "icon.png", mediatype = "image/png")
 )
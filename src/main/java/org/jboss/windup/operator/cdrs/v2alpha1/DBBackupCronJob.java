@@ -0,0 +1,184 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.CronJob;
+import io.fabric8.kubernetes.api.model.batch.v1.CronJobBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.jboss.windup.operator.Config;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional CronJob dumping the database to the backup PVC. The dumps use the directory format, so the tables
+ * are dumped and compressed in parallel and written straight to the PVC, and restored in parallel too.
+ * They are connected to the database directly: the snapshot shared by the parallel jobs does not go
+ * through the connection pooler.
+ */
+@KubernetesDependent(labelSelector = DBBackupCronJob.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class DBBackupCronJob extends WindupDependentResource<CronJob> implements Condition<CronJob, Windup> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db-backup";
+
+    // The dump is renamed once complete, the name and size of the dump are reported in the termination message
+    private static final String BACKUP_SCRIPT = """
+            set -eo pipefail
+            cd "$BACKUP_DIR"
+            rm -rf ./*.partial
+            NAME="windup-$(date -u +%Y%m%d%H%M%S)"
+            pg_dump --format=directory --jobs="$DUMP_JOBS" --compress="$DUMP_COMPRESSION" --no-owner --file="$NAME.partial"
+            mv "$NAME.partial" "$NAME"
+            ln -sfn "$NAME" latest
+            ls -1d windup-* | sort | head -n -"$DUMP_RETENTION" | xargs -r rm -rf
+            printf '{"dump":"%s","bytes":%s}' "$NAME" "$(du -sb "$NAME" | cut -f1)" > /dev/termination-log
+            """;
+
+    @Inject
+    Config config;
+
+    public DBBackupCronJob() {
+        super(CronJob.class, "db-backup-cronjob");
+    }
+
+    @Override
+    public boolean isMet(Windup cr, CronJob cronJob, Context<Windup> context) {
+        return isEnabled(cr);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected CronJob desired(Windup cr, Context<Windup> context) {
+        final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        WindupSpec.BackupSpec backupSpec = getBackupSpec(cr);
+        int parallelJobs = CRDUtils.getValueFromSubSpec(backupSpec, WindupSpec.BackupSpec::getParallelJobs)
+                .orElse(Constants.DB_BACKUP_PARALLEL_JOBS);
+
+        List<EnvVar> envVars = List.of(
+                new EnvVarBuilder().withName("DUMP_JOBS").withValue(String.valueOf(Math.max(1, parallelJobs))).build(),
+                new EnvVarBuilder().withName("DUMP_COMPRESSION").withValue(String.valueOf(CRDUtils.getValueFromSubSpec(backupSpec, WindupSpec.BackupSpec::getCompressionLevel)
+                        .orElse(Constants.DB_BACKUP_COMPRESSION_LEVEL))
+                ).build(),
+                new EnvVarBuilder().withName("DUMP_RETENTION").withValue(String.valueOf(Math.max(1, CRDUtils.getValueFromSubSpec(backupSpec, WindupSpec.BackupSpec::getRetention)
+                        .orElse(Constants.DB_BACKUP_RETENTION)))
+                ).build()
+        );
+
+        return new CronJobBuilder()
+                .withNewMetadata()
+                .withName(getCronJobName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(contextLabels)
+                .addToLabels("component", "db-backup")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withNewSpec()
+                .withSchedule(CRDUtils.getValueFromSubSpec(backupSpec, WindupSpec.BackupSpec::getSchedule).orElse(Constants.DB_BACKUP_SCHEDULE))
+                .withConcurrencyPolicy("Forbid")
+                .withSuccessfulJobsHistoryLimit(3)
+                .withFailedJobsHistoryLimit(1)
+                .withNewJobTemplate()
+                .withNewMetadata()
+                .withLabels(contextLabels)
+                .addToLabels("component", "db-backup")
+                .endMetadata()
+                .withNewSpec()
+                .withBackoffLimit(1)
+                .withNewTemplate()
+                .withNewMetadata()
+                .withLabels(contextLabels)
+                .addToLabels("component", "db-backup")
+                .endMetadata()
+                .withSpec(getDumpPodSpec(cr, config, DBBackupPersistentVolumeClaim.getPersistentVolumeClaimName(cr), false, parallelJobs, BACKUP_SCRIPT, envVars))
+                .endTemplate()
+                .endSpec()
+                .endJobTemplate()
+                .endSpec()
+                .build();
+    }
+
+    /**
+     * Pod of the backup and restore jobs, connected to the database with the credentials of the Web Console.
+     */
+    static PodSpec getDumpPodSpec(Windup cr, Config config, String claimName, boolean readOnly, int parallelJobs, String script, List<EnvVar> envVars) {
+        String dbSecretName = DBSecret.getSecretName(cr);
+
+        List<EnvVar> allEnvVars = new ArrayList<>(List.of(
+                new EnvVarBuilder().withName("PGHOST").withValue(DBService.getServiceName(cr)).build(),
+                new EnvVarBuilder().withName("PGPORT").withValue(String.valueOf(Constants.POSTGRESQL_PORT)).build(),
+                new EnvVarBuilder().withName("PGUSER").withNewValueFrom().withNewSecretKeyRef(Constants.DB_SECRET_USERNAME, dbSecretName, false).endValueFrom().build(),
+                new EnvVarBuilder().withName("PGPASSWORD").withNewValueFrom().withNewSecretKeyRef(Constants.DB_SECRET_PASSWORD, dbSecretName, false).endValueFrom().build(),
+                new EnvVarBuilder().withName("PGDATABASE").withNewValueFrom().withNewSecretKeyRef(Constants.DB_SECRET_DATABASE_NAME, dbSecretName, false).endValueFrom().build(),
+                new EnvVarBuilder().withName("BACKUP_DIR").withValue(Constants.DB_BACKUP_MOUNT_PATH).build()
+        ));
+        allEnvVars.addAll(envVars);
+
+        return new PodSpecBuilder()
+                .withRestartPolicy("Never")
+                .withImagePullSecrets(cr.getSpec().getImagePullSecrets())
+                .withContainers(new ContainerBuilder()
+                        .withName(Constants.WINDUP_DB_NAME)
+                        .withImage(config.dbImage())
+                        .withImagePullPolicy(config.imagePullPolicy())
+                        .withCommand("/bin/bash", "-c", script)
+                        .withEnv(allEnvVars)
+                        .withVolumeMounts(new VolumeMountBuilder()
+                                .withName("backup")
+                                .withMountPath(Constants.DB_BACKUP_MOUNT_PATH)
+                                .withReadOnly(readOnly)
+                                .build()
+                        )
+                        // The jobs compress and decompress in parallel
+                        .withResources(new ResourceRequirementsBuilder()
+                                .withRequests(Map.of(
+                                        "cpu", new Quantity("0.25"),
+                                        "memory", new Quantity("256Mi")
+                                ))
+                                .withLimits(Map.of(
+                                        "cpu", new Quantity(String.valueOf(Math.max(1, parallelJobs))),
+                                        "memory", new Quantity("1Gi")
+                                ))
+                                .build()
+                        )
+                        .build()
+                )
+                .withVolumes(new VolumeBuilder()
+                        .withName("backup")
+                        .withNewPersistentVolumeClaim(claimName, readOnly)
+                        .build()
+                )
+                .build();
+    }
+
+    public static WindupSpec.BackupSpec getBackupSpec(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getBackupSpec)
+                .orElse(null);
+    }
+
+    public static boolean isEnabled(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(getBackupSpec(cr), WindupSpec.BackupSpec::isEnabled)
+                .orElse(false);
+    }
+
+    public static String getCronJobName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.DB_BACKUP_CRONJOB_SUFFIX;
+    }
+}
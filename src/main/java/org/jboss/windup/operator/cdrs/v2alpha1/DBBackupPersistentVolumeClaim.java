@@ -0,0 +1,57 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Optional PVC the database dumps are written to, only created when the backups are enabled in the spec.
+ */
+@KubernetesDependent(labelSelector = DBBackupPersistentVolumeClaim.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class DBBackupPersistentVolumeClaim extends PersistentVolumeClaimBase implements Condition<PersistentVolumeClaim, Windup> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db-backup";
+
+    public DBBackupPersistentVolumeClaim() {
+        super("db-backup-pvc");
+    }
+
+    @Override
+    public boolean isMet(Windup cr, PersistentVolumeClaim pvc, Context<Windup> context) {
+        return DBBackupCronJob.isEnabled(cr);
+    }
+
+    @Override
+    protected String getClaimName(Windup cr) {
+        return getPersistentVolumeClaimName(cr);
+    }
+
+    @Override
+    protected String getComponent() {
+        return "db-backup";
+    }
+
+    @Override
+    protected String getSize(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(DBBackupCronJob.getBackupSpec(cr), WindupSpec.BackupSpec::getSize)
+                .orElse(Constants.DB_BACKUP_PVC_SIZE);
+    }
+
+    @Override
+    protected WindupSpec.StorageSpec getStorageSpec(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(DBBackupCronJob.getBackupSpec(cr), WindupSpec.BackupSpec::getStorageSpec)
+                .orElse(null);
+    }
+
+    public static String getPersistentVolumeClaimName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.DB_BACKUP_PVC_SUFFIX;
+    }
+
+}
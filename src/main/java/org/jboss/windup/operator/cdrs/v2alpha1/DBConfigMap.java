@@ -0,0 +1,48 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.PostgreSQLConfigurator;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+
+@KubernetesDependent(labelSelector = DBConfigMap.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class DBConfigMap extends WindupDependentResource<ConfigMap> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db";
+
+    public DBConfigMap() {
+        super(ConfigMap.class, "db-configmap");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ConfigMap desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        PostgreSQLConfigurator postgreSQLConfigurator = new PostgreSQLConfigurator(cr);
+
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(getConfigMapName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "db")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .addToData(Constants.POSTGRESQL_CONFIG_FILE, postgreSQLConfigurator.getConfigFile())
+                .build();
+    }
+
+    public static String getConfigMapName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.DB_CONFIGMAP_SUFFIX;
+    }
+}
@@ -20,12 +20,12 @@ import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpecBuilder;
 import io.fabric8.kubernetes.api.model.apps.DeploymentStrategyBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
 import org.jboss.windup.operator.Config;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.PostgreSQLConfigurator;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -33,13 +33,13 @@ import javax.inject.Inject;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-@KubernetesDependent(labelSelector = DBDeployment.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = DBDeployment.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Windup>
-        implements Matcher<Deployment, Windup>, Condition<Deployment, Windup> {
+public class DBDeployment extends WindupDeploymentBase implements Condition<Deployment, Windup> {
 
     public static final String LABEL_SELECTOR="app.kubernetes.io/managed-by=windup-operator,component=db";
 
@@ -47,30 +47,12 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
     Config config;
 
     public DBDeployment() {
-        super(Deployment.class);
-    }
-
-    @Override
-    protected Deployment desired(Windup cr, Context<Windup> context) {
-        return newDeployment(cr, context);
-    }
-
-    @Override
-    public Result<Deployment> match(Deployment actual, Windup cr, Context<Windup> context) {
-        final var container = actual.getSpec()
-                .getTemplate().getSpec().getContainers()
-                .stream()
-                .findFirst();
-
-        return Result.nonComputed(container
-                .map(c -> c.getImage() != null)
-                .orElse(false)
-        );
+        super("db-deployment");
     }
 
     @Override
     public boolean isMet(Windup primary, Deployment secondary, Context<Windup> context) {
-        return context.getSecondaryResource(Deployment.class, "db-deployment")
+        return Optional.ofNullable(secondary)
                 .map(deployment -> {
                     final var status = deployment.getStatus();
                     if (status != null) {
@@ -82,8 +64,9 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                 .orElse(false);
     }
 
+    @Override
     @SuppressWarnings("unchecked")
-    private Deployment newDeployment(Windup cr, Context<Windup> context) {
+    protected Deployment newDeployment(Windup cr, Context<Windup> context) {
         final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
                 .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
 
@@ -98,12 +81,12 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                 ))
                 .withOwnerReferences(CRDUtils.getOwnerReference(cr))
                 .endMetadata()
-                .withSpec(getDeploymentSpec(cr, context))
+                .withSpec(getDeploymentSpec(cr, context, new PostgreSQLConfigurator(cr)))
                 .build();
     }
 
     @SuppressWarnings("unchecked")
-    private DeploymentSpec getDeploymentSpec(Windup cr, Context<Windup> context) {
+    private DeploymentSpec getDeploymentSpec(Windup cr, Context<Windup> context, PostgreSQLConfigurator postgreSQLConfigurator) {
         final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
                 .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
 
@@ -130,8 +113,13 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                                 .concat(contextLabels.entrySet().stream(), selectorLabels.entrySet().stream())
                                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
                         )
+                        .addToLabels("component", "db")
+                        // Restart the database when its configuration changes
+                        .withAnnotations(Map.of(
+                                Constants.POSTGRESQL_CONFIG_HASH_ANNOTATION, CRDUtils.getSpecHash(postgreSQLConfigurator.getParameters())
+                        ))
                         .endMetadata()
-                        .withSpec(new PodSpecBuilder()
+                        .withSpec(withPlacement(new PodSpecBuilder(), cr, "db", CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getPlacementSpec).orElse(null), Constants.ANTI_AFFINITY_NONE, false)
                                 .withRestartPolicy("Always")
                                 .withTerminationGracePeriodSeconds(60L)
                                 .withImagePullSecrets(cr.getSpec().getImagePullSecrets())
@@ -139,7 +127,7 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                                         .withName(Constants.WINDUP_DB_NAME)
                                         .withImage(image)
                                         .withImagePullPolicy(imagePullPolicy)
-                                        .withEnv(getEnvVars(cr))
+                                        .withEnv(getEnvVars(cr, postgreSQLConfigurator))
                                         .withPorts(new ContainerPortBuilder()
                                                 .withName("tcp")
                                                 .withProtocol(Constants.SERVICE_PROTOCOL)
@@ -170,10 +158,16 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                                                 .withFailureThreshold(3)
                                                 .build()
                                         )
-                                        .withVolumeMounts(new VolumeMountBuilder()
-                                                .withName("db-pvol")
-                                                .withMountPath("/var/lib/pgsql/data")
-                                                .build()
+                                        .withVolumeMounts(
+                                                new VolumeMountBuilder()
+                                                        .withName("db-pvol")
+                                                        .withMountPath("/var/lib/pgsql/data")
+                                                        .build(),
+                                                new VolumeMountBuilder()
+                                                        .withName("db-config")
+                                                        .withMountPath(Constants.POSTGRESQL_CONFIG_DIR)
+                                                        .withReadOnly(true)
+                                                        .build()
                                         )
                                         .withResources(new ResourceRequirementsBuilder()
                                                 .withRequests(Map.of(
@@ -181,20 +175,27 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                                                         "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryRequest).orElse("0.5Gi"))
                                                 ))
                                                 .withLimits(Map.of(
-                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse("2")),
-                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse("2Gi"))
+                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse(Constants.POSTGRESQL_CPU_LIMIT)),
+                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse(Constants.POSTGRESQL_MEMORY_LIMIT))
                                                 ))
                                                 .build()
                                         )
                                         .build()
                                 )
-                                .withVolumes(new VolumeBuilder()
-                                        .withName("db-pvol")
-                                        .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSourceBuilder()
-                                                .withClaimName(DBPersistentVolumeClaim.getPersistentVolumeClaimName(cr))
+                                .withVolumes(
+                                        new VolumeBuilder()
+                                                .withName("db-pvol")
+                                                .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSourceBuilder()
+                                                        .withClaimName(DBPersistentVolumeClaim.getPersistentVolumeClaimName(cr))
+                                                        .build()
+                                                )
+                                                .build(),
+                                        new VolumeBuilder()
+                                                .withName("db-config")
+                                                .withNewConfigMap()
+                                                .withName(DBConfigMap.getConfigMapName(cr))
+                                                .endConfigMap()
                                                 .build()
-                                        )
-                                        .build()
                                 )
                                 .build()
                         )
@@ -203,15 +204,15 @@ public class DBDeployment extends CRUDKubernetesDependentResource<Deployment, Wi
                 .build();
     }
 
-    private List<EnvVar> getEnvVars(Windup cr) {
+    private List<EnvVar> getEnvVars(Windup cr, PostgreSQLConfigurator postgreSQLConfigurator) {
         return Arrays.asList(
                 new EnvVarBuilder()
                         .withName("POSTGRESQL_MAX_CONNECTIONS")
-                        .withValue("200")
+                        .withValue(postgreSQLConfigurator.getMaxConnections())
                         .build(),
                 new EnvVarBuilder()
                         .withName("POSTGRESQL_MAX_PREPARED_TRANSACTIONS")
-                        .withValue("200")
+                        .withValue(postgreSQLConfigurator.getMaxPreparedTransactions())
                         .build(),
                 new EnvVarBuilder()
                         .withName("POSTGRESQL_USER")
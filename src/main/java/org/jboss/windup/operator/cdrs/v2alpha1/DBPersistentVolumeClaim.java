@@ -1,73 +1,42 @@
 package org.jboss.windup.operator.cdrs.v2alpha1;
 
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimSpecBuilder;
-import io.fabric8.kubernetes.api.model.Quantity;
-import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
-import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.Creator;
-import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
-import io.javaoperatorsdk.operator.processing.event.source.filter.OnAddFilter;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
-import java.util.Map;
 
-@KubernetesDependent(labelSelector = DBPersistentVolumeClaim.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = DBPersistentVolumeClaim.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class DBPersistentVolumeClaim extends CRUDKubernetesDependentResource<PersistentVolumeClaim, Windup>
-        implements Creator<PersistentVolumeClaim, Windup> {
+public class DBPersistentVolumeClaim extends PersistentVolumeClaimBase {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db";
 
     public DBPersistentVolumeClaim() {
-        super(PersistentVolumeClaim.class);
+        super("db-pvc");
     }
 
     @Override
-    protected PersistentVolumeClaim desired(Windup cr, Context<Windup> context) {
-        return newPersistentVolumeClaim(cr, context);
+    protected String getClaimName(Windup cr) {
+        return getPersistentVolumeClaimName(cr);
     }
 
-    @SuppressWarnings("unchecked")
-    private PersistentVolumeClaim newPersistentVolumeClaim(Windup cr, Context<Windup> context) {
-        final var labels = (Map<String, String>) context.managedDependentResourceContext()
-                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+    @Override
+    protected String getComponent() {
+        return "db";
+    }
 
-        String pvcStorageSize = CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getSize)
+    @Override
+    protected String getSize(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getSize)
                 .orElse(Constants.POSTGRESQL_PVC_SIZE);
-
-        return new PersistentVolumeClaimBuilder()
-                .withNewMetadata()
-                .withName(getPersistentVolumeClaimName(cr))
-                .withNamespace(cr.getMetadata().getNamespace())
-                .withLabels(labels)
-                .addToLabels("component", "db")
-                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
-                .endMetadata()
-                .withSpec(new PersistentVolumeClaimSpecBuilder()
-                        .withAccessModes("ReadWriteOnce")
-                        .withResources(new ResourceRequirementsBuilder()
-                                .withRequests(Map.of("storage", new Quantity(pvcStorageSize)))
-                                .build()
-                        )
-                        .build()
-                )
-                .build();
     }
 
     @Override
-    public Matcher.Result<PersistentVolumeClaim> match(PersistentVolumeClaim actual, Windup cr, Context<Windup> context) {
-        final var desiredPersistentVolumeClaimName = getPersistentVolumeClaimName(cr);
-        return Matcher.Result.nonComputed(actual
-                .getMetadata()
-                .getName()
-                .equals(desiredPersistentVolumeClaimName)
-        );
+    protected WindupSpec.StorageSpec getStorageSpec(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getStorageSpec)
+                .orElse(null);
     }
 
     public static String getPersistentVolumeClaimName(Windup cr) {
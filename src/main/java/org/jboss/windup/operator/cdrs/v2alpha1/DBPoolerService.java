@@ -0,0 +1,73 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePortBuilder;
+import io.fabric8.kubernetes.api.model.ServiceSpec;
+import io.fabric8.kubernetes.api.model.ServiceSpecBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+
+@KubernetesDependent(labelSelector = DBPoolerService.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class DBPoolerService extends WindupDependentResource<Service> implements Condition<Service, Windup> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db-pooler";
+
+    public DBPoolerService() {
+        super(Service.class, "db-pooler-service");
+    }
+
+    @Override
+    public boolean isMet(Windup cr, Service service, Context<Windup> context) {
+        return DBPoolerDeployment.isEnabled(cr);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Service desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        return new ServiceBuilder()
+                .withNewMetadata()
+                .withName(getServiceName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "db-pooler")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withSpec(getServiceSpec(cr))
+                .build();
+    }
+
+    private ServiceSpec getServiceSpec(Windup cr) {
+        return new ServiceSpecBuilder()
+                .withPorts(
+                        new ServicePortBuilder()
+                                .withName("tcp")
+                                .withPort(Constants.DB_POOLER_PORT)
+                                .withProtocol(Constants.SERVICE_PROTOCOL)
+                                .build(),
+                        new ServicePortBuilder()
+                                .withName("metrics")
+                                .withPort(Constants.DB_POOLER_METRICS_PORT)
+                                .withProtocol(Constants.SERVICE_PROTOCOL)
+                                .build()
+                )
+                .withSelector(DBPoolerDeployment.getSelectorLabels(cr))
+                .withType("ClusterIP")
+                .build();
+    }
+
+    public static String getServiceName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.DB_POOLER_SERVICE_SUFFIX;
+    }
+}
@@ -0,0 +1,176 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import org.jboss.windup.operator.Config;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Optional Job restoring a dump of the backup CronJob in parallel, created when a restore is set in the spec.
+ * The Web Console is not started until the restore finished. The outcome of the restore is recorded in the
+ * status with the hash of its restore spec, the finished Job is then deleted and not created again for the
+ * same restore spec. The template of a Job can not be changed: to restore again, change the restore spec, or
+ * remove it and set it back.
+ */
+@KubernetesDependent(labelSelector = DBRestoreJob.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class DBRestoreJob extends WindupDependentResource<Job> implements Condition<Job, Windup>, Matcher<Job, Windup> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db-restore";
+    public static final String DEPENDENT_NAME = "db-restore-job";
+
+    private static final String RESTORE_SCRIPT = """
+            set -eo pipefail
+            DUMP="$(readlink -f "$BACKUP_DIR/$RESTORE_DUMP")"
+            test -f "$DUMP/toc.dat"
+            pg_restore --format=directory --jobs="$RESTORE_JOBS" --dbname="$PGDATABASE" --clean --if-exists --no-owner --exit-on-error "$DUMP"
+            printf '{"dump":"%s","bytes":%s}' "$(basename "$DUMP")" "$(du -sb "$DUMP" | cut -f1)" > /dev/termination-log
+            """;
+
+    @Inject
+    Config config;
+
+    public DBRestoreJob() {
+        super(Job.class, DEPENDENT_NAME);
+    }
+
+    /**
+     * Unmet, so the Job is deleted, once the restore finished. A finished Job of a previous restore spec is
+     * deleted before the one of the current restore spec is created.
+     */
+    @Override
+    public boolean isMet(Windup cr, Job job, Context<Windup> context) {
+        String specHash = getSpecHash(cr);
+        if (specHash == null || isFinished(cr, specHash)) {
+            return false;
+        }
+        return job == null || !isFinished(cr, getSpecHash(job, specHash));
+    }
+
+    @Override
+    public Result<Job> match(Job actual, Windup cr, Context<Windup> context) {
+        return Result.nonComputed(true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Job desired(Windup cr, Context<Windup> context) {
+        final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        WindupSpec.RestoreSpec restoreSpec = getEffectiveRestoreSpec(cr);
+
+        return new JobBuilder()
+                .withNewMetadata()
+                .withName(getJobName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(contextLabels)
+                .addToLabels("component", "db-restore")
+                .withAnnotations(Map.of(Constants.SPEC_HASH_ANNOTATION, CRDUtils.getSpecHash(restoreSpec)))
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withNewSpec()
+                .withBackoffLimit(2)
+                .withNewTemplate()
+                .withNewMetadata()
+                .withLabels(contextLabels)
+                .addToLabels("component", "db-restore")
+                .endMetadata()
+                .withSpec(DBBackupCronJob.getDumpPodSpec(cr, config, restoreSpec.getClaimName(), true, restoreSpec.getParallelJobs(), RESTORE_SCRIPT, List.of(
+                        new EnvVarBuilder().withName("RESTORE_DUMP").withValue(restoreSpec.getDump()).build(),
+                        new EnvVarBuilder().withName("RESTORE_JOBS").withValue(String.valueOf(Math.max(1, restoreSpec.getParallelJobs()))).build()
+                )))
+                .endTemplate()
+                .endSpec()
+                .build();
+    }
+
+    /**
+     * Whether the Web Console must wait for the restore, it would otherwise create the schema the restore replaces.
+     * A failed restore does not hold the Web Console, it is reported in the status.
+     */
+    public static boolean isPending(Windup cr, Context<Windup> context) {
+        return isPending(cr, context.getSecondaryResource(Job.class, DEPENDENT_NAME).orElse(null));
+    }
+
+    static boolean isPending(Windup cr, Job job) {
+        String specHash = getSpecHash(cr);
+        if (specHash == null || isFinished(cr, specHash)) {
+            return false;
+        }
+        return job == null || !specHash.equals(getSpecHash(job, specHash)) || getState(job) == null;
+    }
+
+    /**
+     * @return the state of a finished Job, Succeeded or Failed, null while it runs
+     */
+    public static String getState(Job job) {
+        if (job.getStatus() == null) {
+            return null;
+        }
+        if (job.getStatus().getSucceeded() != null && job.getStatus().getSucceeded() > 0) {
+            return Constants.DB_DUMP_STATE_SUCCEEDED;
+        }
+        final var failed = Optional.ofNullable(job.getStatus().getConditions()).orElse(List.of()).stream()
+                .anyMatch(condition -> "Failed".equals(condition.getType()) && "True".equals(condition.getStatus()));
+        return failed ? Constants.DB_DUMP_STATE_FAILED : null;
+    }
+
+    /**
+     * @return the hash of the restore spec, with its defaults, null without restore
+     */
+    public static String getSpecHash(Windup cr) {
+        return getRestoreSpec(cr) != null ? CRDUtils.getSpecHash(getEffectiveRestoreSpec(cr)) : null;
+    }
+
+    /**
+     * @return the hash of the restore spec of a Job, the default one for the Jobs created before it was recorded
+     */
+    public static String getSpecHash(Job job, String defaultSpecHash) {
+        return Optional.ofNullable(job.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(Constants.SPEC_HASH_ANNOTATION))
+                .orElse(defaultSpecHash);
+    }
+
+    private static boolean isFinished(Windup cr, String specHash) {
+        return Optional.ofNullable(cr.getStatus())
+                .map(WindupStatus::getRestore)
+                .filter(restore -> specHash.equals(restore.getSpecHash()))
+                .map(restore -> Constants.DB_DUMP_STATE_SUCCEEDED.equals(restore.getState()) || Constants.DB_DUMP_STATE_FAILED.equals(restore.getState()))
+                .orElse(false);
+    }
+
+    private static WindupSpec.RestoreSpec getEffectiveRestoreSpec(Windup cr) {
+        WindupSpec.RestoreSpec restoreSpec = getRestoreSpec(cr);
+        return WindupSpec.RestoreSpec.builder()
+                .claimName(CRDUtils.getValueFromSubSpec(restoreSpec, WindupSpec.RestoreSpec::getClaimName)
+                        .orElseGet(() -> DBBackupPersistentVolumeClaim.getPersistentVolumeClaimName(cr)))
+                .dump(CRDUtils.getValueFromSubSpec(restoreSpec, WindupSpec.RestoreSpec::getDump)
+                        .orElse(Constants.DB_BACKUP_LATEST))
+                .parallelJobs(CRDUtils.getValueFromSubSpec(restoreSpec, WindupSpec.RestoreSpec::getParallelJobs)
+                        .orElse(Constants.DB_BACKUP_PARALLEL_JOBS))
+                .build();
+    }
+
+    public static WindupSpec.RestoreSpec getRestoreSpec(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getDatabaseSpec(), WindupSpec.DatabaseSpec::getRestoreSpec)
+                .orElse(null);
+    }
+
+    public static String getJobName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.DB_RESTORE_JOB_SUFFIX;
+    }
+}
@@ -5,19 +5,23 @@ import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.Creator;
 import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.util.Map;
 import java.util.Random;
 
+@KubernetesDependent(labelSelector = DBSecret.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class DBSecret extends CRUDKubernetesDependentResource<Secret, Windup> implements Creator<Secret, Windup> {
+public class DBSecret extends WindupDependentResource<Secret> implements Creator<Secret, Windup> {
+
+    public static final String LABEL_SELECTOR = Constants.MANAGED_BY_LABEL_SELECTOR;
 
     public DBSecret() {
-        super(Secret.class);
+        super(Secret.class, "db-secret");
     }
 
     @Override
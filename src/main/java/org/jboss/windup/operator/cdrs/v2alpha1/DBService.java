@@ -5,22 +5,22 @@ import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServiceSpec;
 import io.fabric8.kubernetes.api.model.ServiceSpecBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.util.Map;
 
-@KubernetesDependent(labelSelector = DBService.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = DBService.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class DBService extends CRUDKubernetesDependentResource<Service, Windup> {
+public class DBService extends WindupDependentResource<Service> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=db";
 
     public DBService() {
-        super(Service.class);
+        super(Service.class, "db-service");
     }
 
     @Override
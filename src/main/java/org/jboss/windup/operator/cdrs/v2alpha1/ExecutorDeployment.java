@@ -9,65 +9,55 @@ import io.fabric8.kubernetes.api.model.LifecycleBuilder;
 import io.fabric8.kubernetes.api.model.LifecycleHandlerBuilder;
 import io.fabric8.kubernetes.api.model.PodSpecBuilder;
 import io.fabric8.kubernetes.api.model.PodTemplateSpecBuilder;
-import io.fabric8.kubernetes.api.model.ProbeBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpecBuilder;
-import io.fabric8.kubernetes.api.model.apps.DeploymentStrategyBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.quarkus.logging.Log;
 import org.jboss.windup.operator.Config;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ExecutorAutoscaler;
+import org.jboss.windup.operator.controllers.JvmOptionsConfigurator;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-@KubernetesDependent(labelSelector = ExecutorDeployment.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = ExecutorDeployment.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployment, Windup> implements Matcher<Deployment, Windup> {
+public class ExecutorDeployment extends WindupDeploymentBase {
 
     public static final String LABEL_SELECTOR="app.kubernetes.io/managed-by=windup-operator,component=executor";
 
     @Inject
     Config config;
 
-    public ExecutorDeployment() {
-        super(Deployment.class);
-    }
+    @Inject
+    ExecutorAutoscaler executorAutoscaler;
 
-    @Override
-    protected Deployment desired(Windup cr, Context<Windup> context) {
-        return newDeployment(cr, context);
+    public ExecutorDeployment() {
+        super("executor-deployment");
     }
 
     @Override
-    public Result<Deployment> match(Deployment actual, Windup cr, Context<Windup> context) {
-        final var container = actual.getSpec()
-                .getTemplate().getSpec().getContainers()
-                .stream()
-                .findFirst();
-
-        return Result.nonComputed(container
-                .map(c -> c.getImage() != null)
-                .orElse(false)
-        );
-    }
-
     @SuppressWarnings("unchecked")
-    private Deployment newDeployment(Windup cr, Context<Windup> context) {
+    protected Deployment newDeployment(Windup cr, Context<Windup> context) {
         final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
                 .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
 
@@ -88,7 +78,9 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
         final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
                 .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
 
-        Map<String, String> selectorLabels = Constants.DB_SELECTOR_LABELS;
+        final var actual = context.getSecondaryResource(Deployment.class, getDependentName()).orElse(null);
+
+        Map<String, String> selectorLabels = getSelectorLabels(cr, actual);
         String image = config.executorImage();
         String imagePullPolicy = config.imagePullPolicy();
 
@@ -96,11 +88,10 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
                 .orElse(null);
 
         return new DeploymentSpecBuilder()
-                .withStrategy(new DeploymentStrategyBuilder()
-                        .withType("Recreate")
-                        .build()
-                )
-                .withReplicas(cr.getSpec().getExecutorInstances())
+                // Executors do not share storage, their pods can always be replaced one by one
+                .withStrategy(getStrategy(cr.getSpec().getExecutorUpdateStrategySpec(), true))
+                // Left out of the apply when the HorizontalPodAutoscaler scales the Deployment
+                .withReplicas(ExecutorHorizontalPodAutoscaler.isActive(cr, actual) ? null : executorAutoscaler.getReplicas(cr, context))
                 .withSelector(new LabelSelectorBuilder()
                         .withMatchLabels(selectorLabels)
                         .build()
@@ -109,42 +100,25 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
                         .withNewMetadata()
                         .withLabels(Stream
                                 .concat(contextLabels.entrySet().stream(), selectorLabels.entrySet().stream())
-                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (contextValue, selectorValue) -> selectorValue))
                         )
+                        // Not part of the selector, which can not be changed, used to find the pods to drain and to spread them
+                        .addToLabels("component", "executor")
                         .endMetadata()
-                        .withSpec(new PodSpecBuilder()
+                        .withSpec(withPlacement(new PodSpecBuilder(), cr, "executor", cr.getSpec().getExecutorPlacementSpec(), Constants.ANTI_AFFINITY_PREFERRED, true)
                                 .withRestartPolicy("Always")
-                                .withTerminationGracePeriodSeconds(75L)
+                                .withTerminationGracePeriodSeconds(CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorDrainSpec(), WindupSpec.ExecutorDrainSpec::getTerminationGracePeriodSeconds)
+                                        .orElse(Constants.EXECUTOR_TERMINATION_GRACE_PERIOD_SECONDS)
+                                )
                                 .withImagePullSecrets(cr.getSpec().getImagePullSecrets())
                                 .withContainers(new ContainerBuilder()
                                         .withName(Constants.WINDUP_EXECUTOR_NAME)
                                         .withImage(image)
                                         .withImagePullPolicy(imagePullPolicy)
                                         .withEnv(getEnvVars(cr, config))
-                                        .withLivenessProbe(new ProbeBuilder()
-                                                .withExec(new ExecActionBuilder()
-                                                        .withCommand("/bin/bash", "-c", "/opt/windup-cli/bin/livenessProbe.sh")
-                                                        .build()
-                                                )
-                                                .withInitialDelaySeconds(120)
-                                                .withTimeoutSeconds(10)
-                                                .withPeriodSeconds(10)
-                                                .withSuccessThreshold(1)
-                                                .withFailureThreshold(3)
-                                                .build()
-                                        )
-                                        .withReadinessProbe(new ProbeBuilder()
-                                                .withExec(new ExecActionBuilder()
-                                                        .withCommand("/bin/bash", "-c", "/opt/windup-cli/bin/livenessProbe.sh")
-                                                        .build()
-                                                )
-                                                .withInitialDelaySeconds(120)
-                                                .withTimeoutSeconds(10)
-                                                .withPeriodSeconds(10)
-                                                .withSuccessThreshold(1)
-                                                .withFailureThreshold(3)
-                                                .build()
-                                        )
+                                        .withStartupProbe(getStartupProbe(cr.getSpec().getExecutorProbesSpec(), "/bin/bash", "-c", "/opt/windup-cli/bin/livenessProbe.sh"))
+                                        .withLivenessProbe(getProbe(cr.getSpec().getExecutorProbesSpec(), "/bin/bash", "-c", "/opt/windup-cli/bin/livenessProbe.sh"))
+                                        .withReadinessProbe(getProbe(cr.getSpec().getExecutorProbesSpec(), "/bin/bash", "-c", "/opt/windup-cli/bin/livenessProbe.sh"))
                                         .withLifecycle(new LifecycleBuilder()
                                                 .withPreStop(new LifecycleHandlerBuilder()
                                                         .withExec(new ExecActionBuilder()
@@ -166,19 +140,14 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
                                                         "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryRequest).orElse("0.5Gi"))
                                                 ))
                                                 .withLimits(Map.of(
-                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse("4")),
-                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse("4Gi"))
+                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse(Constants.WINDUP_CPU_LIMIT)),
+                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse(Constants.WINDUP_MEMORY_LIMIT))
                                                 ))
                                                 .build()
                                         )
                                         .build()
                                 )
-                                .withVolumes(new VolumeBuilder()
-                                        .withName("executor-pvol")
-                                        .withNewEmptyDir()
-                                        .endEmptyDir()
-                                        .build()
-                                )
+                                .withVolumes(getScratchVolume(cr, "executor-pvol"))
                                 .build()
                         )
                         .build()
@@ -186,8 +155,99 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
                 .build();
     }
 
+    /**
+     * Selector of the executor pods, which can not be changed once the Deployment is created. The Deployments of
+     * the previous versions of the operator keep selecting their pods with the labels of the database.
+     */
+    static Map<String, String> getSelectorLabels(Windup cr, Deployment actual) {
+        return Optional.ofNullable(actual)
+                .map(deployment -> deployment.getSpec().getSelector().getMatchLabels())
+                .orElseGet(() -> getOwnSelectorLabels(cr));
+    }
+
+    /**
+     * Whether the Deployment only selects the executor pods of this Windup, which a HorizontalPodAutoscaler
+     * relies on to measure their usage. A Deployment that does not exist yet is created with that selector.
+     */
+    public static boolean hasOwnSelector(Windup cr, Deployment actual) {
+        return actual == null || getOwnSelectorLabels(cr).equals(actual.getSpec().getSelector().getMatchLabels());
+    }
+
+    private static Map<String, String> getOwnSelectorLabels(Windup cr) {
+        Map<String, String> selectorLabels = new HashMap<>(Constants.EXECUTOR_SELECTOR_LABELS);
+        selectorLabels.put(Constants.PART_OF_LABEL, cr.getMetadata().getName());
+        return selectorLabels;
+    }
+
+    /**
+     * Working directory of the analyses. A memory backed volume is only used if it fits, along with the heap and the
+     * metaspace, in the memory limit of the container, otherwise the disk of the node is used.
+     */
+    static Volume getScratchVolume(Windup cr, String volumeName) {
+        WindupSpec.ExecutorScratchSpec scratchSpec = cr.getSpec().getExecutorScratchSpec();
+
+        String medium = CRDUtils.getValueFromSubSpec(scratchSpec, WindupSpec.ExecutorScratchSpec::getMedium)
+                .orElse(Constants.EXECUTOR_SCRATCH_MEDIUM_DISK);
+        Optional<Quantity> sizeLimit = CRDUtils.getValueFromSubSpec(scratchSpec, WindupSpec.ExecutorScratchSpec::getSizeLimit)
+                .map(Quantity::new);
+
+        if (medium.equalsIgnoreCase(Constants.EXECUTOR_SCRATCH_MEDIUM_EPHEMERAL)) {
+            return new VolumeBuilder()
+                    .withName(volumeName)
+                    .withNewEphemeral()
+                    .withNewVolumeClaimTemplate()
+                    .withNewSpec()
+                    .withAccessModes("ReadWriteOnce")
+                    .withStorageClassName(CRDUtils.getValueFromSubSpec(scratchSpec, WindupSpec.ExecutorScratchSpec::getStorageClassName).orElse(null))
+                    .withNewResources()
+                    .withRequests(Map.of("storage", sizeLimit.orElseGet(() -> new Quantity(Constants.EXECUTOR_SCRATCH_EPHEMERAL_SIZE))))
+                    .endResources()
+                    .endSpec()
+                    .endVolumeClaimTemplate()
+                    .endEphemeral()
+                    .build();
+        }
+
+        boolean inMemory = medium.equalsIgnoreCase(Constants.EXECUTOR_SCRATCH_MEDIUM_MEMORY);
+        if (inMemory && (sizeLimit.isEmpty() || !fitsInMemory(cr, sizeLimit.get()))) {
+            Log.warnf("The executor scratch volume of %s does not fit in memory, using the disk of the node instead", cr.getMetadata().getName());
+            inMemory = false;
+        }
+
+        return new VolumeBuilder()
+                .withName(volumeName)
+                .withNewEmptyDir()
+                .withMedium(inMemory ? "Memory" : null)
+                .withSizeLimit(sizeLimit.orElse(null))
+                .endEmptyDir()
+                .build();
+    }
+
+    static boolean fitsInMemory(Windup cr, Quantity sizeLimit) {
+        WindupSpec.ResourcesLimitSpec resourcesLimitSpec = cr.getSpec().getExecutorResourceLimitSpec();
+        JvmOptionsConfigurator jvmOptionsConfigurator = new JvmOptionsConfigurator(
+                JvmOptionsConfigurator.Workload.EXECUTOR,
+                resourcesLimitSpec,
+                cr.getSpec().getExecutorJvmSpec()
+        );
+
+        long memoryLimit = Quantity.getAmountInBytes(new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit)
+                .orElse(Constants.WINDUP_MEMORY_LIMIT))).longValue();
+        long maxHeap = memoryLimit * jvmOptionsConfigurator.getMaxHeapPercentage() / 100;
+        long maxMetaspace = jvmOptionsConfigurator.getMaxMetaspaceSizeMb() * 1024 * 1024;
+
+        return Quantity.getAmountInBytes(sizeLimit).longValue() <= memoryLimit - maxHeap - maxMetaspace;
+    }
+
     private List<EnvVar> getEnvVars(Windup cr, Config config) {
-        return Arrays.asList(
+        JvmOptionsConfigurator jvmOptionsConfigurator = new JvmOptionsConfigurator(
+                JvmOptionsConfigurator.Workload.EXECUTOR,
+                cr.getSpec().getExecutorResourceLimitSpec(),
+                cr.getSpec().getExecutorJvmSpec()
+        );
+
+        List<EnvVar> envVars = new ArrayList<>(jvmOptionsConfigurator.getEnvVars());
+        envVars.addAll(Arrays.asList(
                 new EnvVarBuilder()
                         .withName("IS_MASTER")
                         .withValue("false")
@@ -208,8 +268,8 @@ public class ExecutorDeployment extends CRUDKubernetesDependentResource<Deployme
                         .withName("MESSAGING_HOST_VAR")
                         .withValue(WebService.getServiceName(cr) + "_SERVICE_HOST")
                         .build()
-
-        );
+        ));
+        return envVars;
     }
 
     public static String getDeploymentName(Windup cr) {
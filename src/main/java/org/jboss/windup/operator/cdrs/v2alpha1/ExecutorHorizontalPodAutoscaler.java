@@ -0,0 +1,126 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpecBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional HorizontalPodAutoscaler of the Executor Deployment, only created when enabled in the spec.
+ */
+@KubernetesDependent(labelSelector = ExecutorHorizontalPodAutoscaler.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class ExecutorHorizontalPodAutoscaler extends WindupDependentResource<HorizontalPodAutoscaler>
+        implements Condition<HorizontalPodAutoscaler, Windup> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=executor";
+
+    public ExecutorHorizontalPodAutoscaler() {
+        super(HorizontalPodAutoscaler.class, "executor-hpa");
+    }
+
+    @Override
+    public boolean isMet(Windup cr, HorizontalPodAutoscaler hpa, Context<Windup> context) {
+        return isActive(cr, context.getSecondaryResource(Deployment.class, "executor-deployment").orElse(null));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected HorizontalPodAutoscaler desired(Windup cr, Context<Windup> context) {
+        final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        WindupSpec.ExecutorHorizontalPodAutoscalerSpec hpaSpec = cr.getSpec().getExecutorHorizontalPodAutoscalerSpec();
+
+        int minReplicas = CRDUtils.getValueFromSubSpec(hpaSpec, WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getMinReplicas)
+                .orElse(Constants.EXECUTOR_HPA_MIN_REPLICAS);
+        int maxReplicas = CRDUtils.getValueFromSubSpec(hpaSpec, WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getMaxReplicas)
+                .orElse(Constants.EXECUTOR_HPA_MAX_REPLICAS);
+        int scaleDownStabilizationWindow = CRDUtils.getValueFromSubSpec(hpaSpec, WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getScaleDownStabilizationWindowSeconds)
+                .orElse(Constants.EXECUTOR_HPA_SCALE_DOWN_STABILIZATION_SECONDS);
+
+        List<MetricSpec> metrics = new ArrayList<>();
+        metrics.add(getUtilizationMetric("cpu", CRDUtils.getValueFromSubSpec(hpaSpec, WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getTargetCPUUtilizationPercentage)
+                .orElse(Constants.EXECUTOR_HPA_TARGET_CPU_UTILIZATION))
+        );
+        CRDUtils.getValueFromSubSpec(hpaSpec, WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getTargetMemoryUtilizationPercentage)
+                .ifPresent(utilization -> metrics.add(getUtilizationMetric("memory", utilization)));
+
+        return new HorizontalPodAutoscalerBuilder()
+                .withNewMetadata()
+                .withName(getHorizontalPodAutoscalerName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(contextLabels)
+                .addToLabels("component", "executor")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withNewSpec()
+                .withNewScaleTargetRef()
+                .withApiVersion("apps/v1")
+                .withKind("Deployment")
+                .withName(ExecutorDeployment.getDeploymentName(cr))
+                .endScaleTargetRef()
+                .withMinReplicas(Math.max(1, minReplicas))
+                .withMaxReplicas(Math.max(Math.max(1, minReplicas), maxReplicas))
+                .withMetrics(metrics)
+                .withNewBehavior()
+                .withNewScaleDown()
+                .withStabilizationWindowSeconds(Math.max(0, scaleDownStabilizationWindow))
+                .endScaleDown()
+                .endBehavior()
+                .endSpec()
+                .build();
+    }
+
+    private static MetricSpec getUtilizationMetric(String resourceName, int utilization) {
+        return new MetricSpecBuilder()
+                .withType("Resource")
+                .withNewResource()
+                .withName(resourceName)
+                .withNewTarget()
+                .withType("Utilization")
+                .withAverageUtilization(utilization)
+                .endTarget()
+                .endResource()
+                .build();
+    }
+
+    /**
+     * Enabled in the spec, and the Executor Deployment only selects the pods of this Windup. A Deployment created
+     * by a previous version of the operator also selects the database pods, it has to be deleted to be recreated
+     * with its own selector before the HorizontalPodAutoscaler is created.
+     */
+    public static boolean isActive(Windup cr, Deployment executorDeployment) {
+        if (!isEnabled(cr)) {
+            return false;
+        }
+        if (!ExecutorDeployment.hasOwnSelector(cr, executorDeployment)) {
+            Log.warnf("The HorizontalPodAutoscaler of %s is not created, the Executor Deployment %s selects the pods of the database: delete it to have it recreated with its own selector",
+                    cr.getMetadata().getName(), executorDeployment.getMetadata().getName());
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean isEnabled(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorHorizontalPodAutoscalerSpec(), WindupSpec.ExecutorHorizontalPodAutoscalerSpec::isEnabled)
+                .orElse(false);
+    }
+
+    public static String getHorizontalPodAutoscalerName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.EXECUTOR_HPA_SUFFIX;
+    }
+}
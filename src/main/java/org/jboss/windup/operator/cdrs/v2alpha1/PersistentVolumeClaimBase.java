@@ -0,0 +1,155 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimCondition;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimSpecBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.StorageClassCache;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The storage class, access mode and volume mode of a PVC can not be changed once created, only its size can grow.
+ * The PVC is expanded in place when its StorageClass, or the default one, allows it.
+ */
+public abstract class PersistentVolumeClaimBase extends WindupDependentResource<PersistentVolumeClaim>
+        implements Matcher<PersistentVolumeClaim, Windup> {
+
+    @Inject
+    StorageClassCache storageClassCache;
+
+    public PersistentVolumeClaimBase(String dependentName) {
+        super(PersistentVolumeClaim.class, dependentName);
+    }
+
+    protected abstract String getClaimName(Windup cr);
+
+    protected abstract String getComponent();
+
+    protected abstract String getSize(Windup cr);
+
+    protected abstract WindupSpec.StorageSpec getStorageSpec(Windup cr);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected PersistentVolumeClaim desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        WindupSpec.StorageSpec storageSpec = getStorageSpec(cr);
+
+        return new PersistentVolumeClaimBuilder()
+                .withNewMetadata()
+                .withName(getClaimName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", getComponent())
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withSpec(new PersistentVolumeClaimSpecBuilder()
+                        .withAccessModes(CRDUtils.getValueFromSubSpec(storageSpec, WindupSpec.StorageSpec::getAccessMode).orElse("ReadWriteOnce"))
+                        .withStorageClassName(CRDUtils.getValueFromSubSpec(storageSpec, WindupSpec.StorageSpec::getStorageClassName).orElse(null))
+                        .withVolumeMode(CRDUtils.getValueFromSubSpec(storageSpec, WindupSpec.StorageSpec::getVolumeMode).orElse(null))
+                        .withResources(new ResourceRequirementsBuilder()
+                                .withRequests(Map.of("storage", new Quantity(getSize(cr))))
+                                .build()
+                        )
+                        .build()
+                )
+                .build();
+    }
+
+    @Override
+    public Result<PersistentVolumeClaim> match(PersistentVolumeClaim actual, Windup cr, Context<Windup> context) {
+        final var desired = desired(cr, context);
+        if (!actual.getMetadata().getName().equals(desired.getMetadata().getName())) {
+            return Result.nonComputed(false);
+        }
+
+        final var matched = !isGrowing(actual, desired) || !storageClassCache.allowsVolumeExpansion(
+                actual.getSpec().getStorageClassName(), () -> countApiCall(cr, context, "list"));
+        if (matched) {
+            metrics.dependentUpdate(getDependentName(), "skipped");
+        }
+        return Result.computed(matched, desired);
+    }
+
+    @Override
+    public PersistentVolumeClaim update(PersistentVolumeClaim actual, PersistentVolumeClaim target, Windup cr, Context<Windup> context) {
+        Log.infof("Expanding %s to %s", actual.getMetadata().getName(), getRequestedSize(target));
+        metrics.dependentUpdate(getDependentName(), "applied");
+
+        // Only the size can be changed, the immutable fields are applied as they are
+        final var expanded = new PersistentVolumeClaimBuilder(target)
+                .editSpec()
+                .withAccessModes(actual.getSpec().getAccessModes())
+                .withStorageClassName(actual.getSpec().getStorageClassName())
+                .withVolumeMode(actual.getSpec().getVolumeMode())
+                .endSpec()
+                .build();
+        return super.update(actual, expanded, cr, context);
+    }
+
+    public WindupStatus.VolumeStatus getVolumeStatus(Windup cr, Context<Windup> context) {
+        return context.getSecondaryResource(PersistentVolumeClaim.class, getDependentName())
+                .map(pvc -> getVolumeStatus(pvc, getComponent(), getSize(cr)))
+                .orElse(null);
+    }
+
+    static WindupStatus.VolumeStatus getVolumeStatus(PersistentVolumeClaim pvc, String component, String size) {
+        Quantity requested = getRequestedSize(pvc);
+        Quantity capacity = Optional.ofNullable(pvc.getStatus())
+                .map(status -> status.getCapacity())
+                .map(capacities -> capacities.get("storage"))
+                .orElse(null);
+        List<String> conditions = Optional.ofNullable(pvc.getStatus())
+                .map(status -> status.getConditions())
+                .orElse(List.of())
+                .stream()
+                .filter(condition -> "True".equals(condition.getStatus()))
+                .map(PersistentVolumeClaimCondition::getType)
+                .toList();
+
+        String state;
+        if (requested != null && Quantity.getAmountInBytes(new Quantity(size)).compareTo(Quantity.getAmountInBytes(requested)) > 0) {
+            state = "ExpansionNotSupported";
+        } else if (conditions.contains("FileSystemResizePending")) {
+            state = "FileSystemResizePending";
+        } else if (conditions.contains("Resizing") || (capacity != null && requested != null && Quantity.getAmountInBytes(capacity).compareTo(Quantity.getAmountInBytes(requested)) < 0)) {
+            state = "Resizing";
+        } else {
+            state = Optional.ofNullable(pvc.getStatus()).map(status -> status.getPhase()).orElse(null);
+        }
+
+        return WindupStatus.VolumeStatus.builder()
+                .name(pvc.getMetadata().getName())
+                .component(component)
+                .storageClassName(pvc.getSpec().getStorageClassName())
+                .requestedSize(size)
+                .capacity(capacity != null ? capacity.toString() : null)
+                .state(state)
+                .build();
+    }
+
+    static boolean isGrowing(PersistentVolumeClaim actual, PersistentVolumeClaim desired) {
+        Quantity actualSize = getRequestedSize(actual);
+        return actualSize != null && Quantity.getAmountInBytes(getRequestedSize(desired)).compareTo(Quantity.getAmountInBytes(actualSize)) > 0;
+    }
+
+    private static Quantity getRequestedSize(PersistentVolumeClaim pvc) {
+        return Optional.ofNullable(pvc.getSpec().getResources())
+                .map(resources -> resources.getRequests())
+                .map(requests -> requests.get("storage"))
+                .orElse(null);
+    }
+}
@@ -1,72 +1,59 @@
 package org.jboss.windup.operator.cdrs.v2alpha1;
 
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimSpecBuilder;
-import io.fabric8.kubernetes.api.model.Quantity;
-import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.Creator;
-import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
-import io.javaoperatorsdk.operator.processing.event.source.filter.OnAddFilter;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
-import java.util.Map;
+import java.util.List;
 
-@KubernetesDependent(labelSelector = WebConsolePersistentVolumeClaim.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = WebConsolePersistentVolumeClaim.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class WebConsolePersistentVolumeClaim extends CRUDKubernetesDependentResource<PersistentVolumeClaim, Windup>
-        implements Creator<PersistentVolumeClaim, Windup> {
+public class WebConsolePersistentVolumeClaim extends PersistentVolumeClaimBase {
 
     public static final String LABEL_SELECTOR="app.kubernetes.io/managed-by=windup-operator,component=web";
+    public static final String DEPENDENT_NAME = "web-pvc";
 
     public WebConsolePersistentVolumeClaim() {
-        super(PersistentVolumeClaim.class);
+        super(DEPENDENT_NAME);
     }
 
     @Override
-    protected PersistentVolumeClaim desired(Windup cr, Context<Windup> context) {
-        return newPersistentVolumeClaim(cr, context);
+    protected String getClaimName(Windup cr) {
+        return getPersistentVolumeClaimName(cr);
     }
 
-    @SuppressWarnings("unchecked")
-    private PersistentVolumeClaim newPersistentVolumeClaim(Windup cr, Context<Windup> context) {
-        final var labels = (Map<String, String>) context.managedDependentResourceContext()
-                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
-
-        String pvcStorageSize = cr.getSpec().getDataSize();
+    @Override
+    protected String getComponent() {
+        return "web";
+    }
 
-        return new PersistentVolumeClaimBuilder()
-                .withNewMetadata()
-                .withName(getPersistentVolumeClaimName(cr))
-                .withNamespace(cr.getMetadata().getNamespace())
-                .withLabels(labels)
-                .addToLabels("component", "web")
-                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
-                .endMetadata()
-                .withSpec(new PersistentVolumeClaimSpecBuilder()
-                        .withAccessModes("ReadWriteOnce")
-                        .withResources(new ResourceRequirementsBuilder()
-                                .withRequests(Map.of("storage", new Quantity(pvcStorageSize)))
-                                .build()
-                        )
-                        .build()
-                )
-                .build();
+    @Override
+    protected String getSize(Windup cr) {
+        return cr.getSpec().getDataSize();
     }
 
     @Override
-    public Matcher.Result<PersistentVolumeClaim> match(PersistentVolumeClaim actual, Windup cr, Context<Windup> context) {
-        final var desiredPersistentVolumeClaimName = getPersistentVolumeClaimName(cr);
-        return Matcher.Result.nonComputed(actual
-                .getMetadata()
-                .getName()
-                .equals(desiredPersistentVolumeClaimName)
-        );
+    protected WindupSpec.StorageSpec getStorageSpec(Windup cr) {
+        return cr.getSpec().getDataStorageSpec();
+    }
+
+    /**
+     * Whether the pods of two revisions of the Web Console can mount the data PVC at the same time.
+     * The access modes of a claim can not change, the ones of the existing claim win over the spec.
+     */
+    public static boolean isReadWriteMany(Windup cr, Context<Windup> context) {
+        return isReadWriteMany(cr, context.getSecondaryResource(PersistentVolumeClaim.class, DEPENDENT_NAME).orElse(null));
+    }
+
+    static boolean isReadWriteMany(Windup cr, PersistentVolumeClaim actual) {
+        List<String> accessModes = actual != null && actual.getSpec() != null
+                ? actual.getSpec().getAccessModes()
+                : CRDUtils.getValueFromSubSpec(cr.getSpec().getDataStorageSpec(), WindupSpec.StorageSpec::getAccessMode).map(List::of).orElse(List.of());
+        return accessModes != null && accessModes.contains("ReadWriteMany");
     }
 
     public static String getPersistentVolumeClaimName(Windup cr) {
@@ -9,7 +9,6 @@ import io.fabric8.kubernetes.api.model.LifecycleBuilder;
 import io.fabric8.kubernetes.api.model.LifecycleHandlerBuilder;
 import io.fabric8.kubernetes.api.model.PodSpecBuilder;
 import io.fabric8.kubernetes.api.model.PodTemplateSpecBuilder;
-import io.fabric8.kubernetes.api.model.ProbeBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
@@ -18,15 +17,14 @@ import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpecBuilder;
-import io.fabric8.kubernetes.api.model.apps.DeploymentStrategyBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.Matcher;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
+import io.quarkus.logging.Log;
 import org.jboss.windup.operator.AppServerConfig;
 import org.jboss.windup.operator.Config;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.controllers.WindupDistConfigurator;
 import org.jboss.windup.operator.utils.CRDUtils;
 
@@ -34,13 +32,13 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-@KubernetesDependent(labelSelector = WebDeployment.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = WebDeployment.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, Windup>
-        implements Matcher<Deployment, Windup>, Condition<Deployment, Windup> {
+public class WebDeployment extends WindupDeploymentBase implements Condition<Deployment, Windup> {
 
     public static final String LABEL_SELECTOR="app.kubernetes.io/managed-by=windup-operator,component=web";
 
@@ -51,31 +49,12 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
     AppServerConfig appServerConfig;
 
     public WebDeployment() {
-        super(Deployment.class);
-    }
-
-    @Override
-    protected Deployment desired(Windup cr, Context<Windup> context) {
-        WindupDistConfigurator distConfigurator = new WindupDistConfigurator(cr);
-        return newDeployment(cr, context, distConfigurator);
-    }
-
-    @Override
-    public Result<Deployment> match(Deployment actual, Windup cr, Context<Windup> context) {
-        final var container = actual.getSpec()
-                .getTemplate().getSpec().getContainers()
-                .stream()
-                .findFirst();
-
-        return Result.nonComputed(container
-                .map(c -> c.getImage() != null)
-                .orElse(false)
-        );
+        super("web-deployment");
     }
 
     @Override
     public boolean isMet(Windup primary, Deployment secondary, Context<Windup> context) {
-        return context.getSecondaryResource(Deployment.class, "web-deployment")
+        return Optional.ofNullable(secondary)
                 .map(deployment -> {
                     final var status = deployment.getStatus();
                     if (status != null) {
@@ -87,8 +66,11 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
                 .orElse(false);
     }
 
+    @Override
     @SuppressWarnings("unchecked")
-    private Deployment newDeployment(Windup cr, Context<Windup> context, WindupDistConfigurator distConfigurator) {
+    protected Deployment newDeployment(Windup cr, Context<Windup> context) {
+        WindupDistConfigurator distConfigurator = new WindupDistConfigurator(cr);
+
         final var contextLabels = (Map<String, String>) context.managedDependentResourceContext()
                 .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
 
@@ -125,12 +107,18 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
         WindupSpec.ResourcesLimitSpec resourcesLimitSpec = CRDUtils.getValueFromSubSpec(cr.getSpec(), WindupSpec::getWebResourceLimitSpec)
                 .orElse(null);
 
+        boolean readWriteMany = WebConsolePersistentVolumeClaim.isReadWriteMany(cr, context);
+        int replicas = getReplicas(cr, readWriteMany);
+        // The Web Console would create the schema the restore replaces
+        int desiredReplicas = DBRestoreJob.isPending(cr, context) ? 0 : replicas;
+        // Only warned when the replicas of the existing Deployment change, not on every reconcile
+        if (replicas < cr.getSpec().getWebInstances() && getActualReplicas(context).map(actual -> actual != desiredReplicas).orElse(true)) {
+            Log.warnf("%s requests %d Web Console instances but its data PVC is not ReadWriteMany, running %d", cr.getMetadata().getName(), cr.getSpec().getWebInstances(), replicas);
+        }
+
         return new DeploymentSpecBuilder()
-                .withStrategy(new DeploymentStrategyBuilder()
-                        .withType("Recreate")
-                        .build()
-                )
-                .withReplicas(1)
+                .withStrategy(getStrategy(cr.getSpec().getWebUpdateStrategySpec(), readWriteMany))
+                .withReplicas(desiredReplicas)
                 .withSelector(new LabelSelectorBuilder()
                         .withMatchLabels(selectorLabels)
                         .build()
@@ -141,9 +129,11 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
                                 .concat(contextLabels.entrySet().stream(), selectorLabels.entrySet().stream())
                                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
                         )
+                        .addToLabels("component", "web")
                         .endMetadata()
-                        .withSpec(new PodSpecBuilder()
+                        .withSpec(withPlacement(new PodSpecBuilder(), cr, "web", cr.getSpec().getWebPlacementSpec(), replicas > 1 ? Constants.ANTI_AFFINITY_PREFERRED : Constants.ANTI_AFFINITY_NONE, false)
                                 .withRestartPolicy("Always")
+                                .withServiceAccountName(WebServiceAccount.getServiceAccountName(cr))
                                 .withTerminationGracePeriodSeconds(70L)
                                 .withImagePullSecrets(cr.getSpec().getImagePullSecrets())
                                 .withContainers(new ContainerBuilder()
@@ -168,30 +158,9 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
                                                         .withContainerPort(8888)
                                                         .build()
                                         )
-                                        .withReadinessProbe(new ProbeBuilder()
-                                                .withExec(new ExecActionBuilder()
-                                                        .withCommand(appServerConfig.getWebReadinessProbeCmd())
-                                                        .build()
-                                                )
-                                                .withInitialDelaySeconds(120)
-                                                .withTimeoutSeconds(10)
-                                                .withPeriodSeconds(10)
-                                                .withSuccessThreshold(1)
-                                                .withFailureThreshold(3)
-                                                .build()
-                                        )
-                                        .withLivenessProbe(new ProbeBuilder()
-                                                .withExec(new ExecActionBuilder()
-                                                        .withCommand(appServerConfig.getWebLivenessProbeCmd())
-                                                        .build()
-                                                )
-                                                .withInitialDelaySeconds(120)
-                                                .withTimeoutSeconds(10)
-                                                .withPeriodSeconds(10)
-                                                .withSuccessThreshold(1)
-                                                .withFailureThreshold(3)
-                                                .build()
-                                        )
+                                        .withStartupProbe(getStartupProbe(cr.getSpec().getWebProbesSpec(), appServerConfig.getWebReadinessProbeCmd()))
+                                        .withReadinessProbe(getProbe(cr.getSpec().getWebProbesSpec(), appServerConfig.getWebReadinessProbeCmd()))
+                                        .withLivenessProbe(getProbe(cr.getSpec().getWebProbesSpec(), appServerConfig.getWebLivenessProbeCmd()))
                                         .withLifecycle(new LifecycleBuilder()
                                                 .withPreStop(new LifecycleHandlerBuilder()
                                                         .withExec(new ExecActionBuilder()
@@ -209,8 +178,8 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
                                                         "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryRequest).orElse("0.5Gi"))
                                                 ))
                                                 .withLimits(Map.of(
-                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse("4")),
-                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse("4Gi"))
+                                                        "cpu", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit).orElse(Constants.WINDUP_CPU_LIMIT)),
+                                                        "memory", new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit).orElse(Constants.WINDUP_MEMORY_LIMIT))
                                                 ))
                                                 .build()
                                         )
@@ -224,6 +193,23 @@ public class WebDeployment extends CRUDKubernetesDependentResource<Deployment, W
                 .build();
     }
 
+    /**
+     * The replicas share the data PVC, more than one can only run with a ReadWriteMany PVC.
+     */
+    public static int getReplicas(Windup cr, Context<Windup> context) {
+        return getReplicas(cr, WebConsolePersistentVolumeClaim.isReadWriteMany(cr, context));
+    }
+
+    static int getReplicas(Windup cr, boolean readWriteMany) {
+        int webInstances = Math.max(1, cr.getSpec().getWebInstances());
+        return webInstances > 1 && !readWriteMany ? 1 : webInstances;
+    }
+
+    private Optional<Integer> getActualReplicas(Context<Windup> context) {
+        return context.getSecondaryResource(Deployment.class, getDependentName())
+                .map(deployment -> deployment.getSpec().getReplicas());
+    }
+
     public static String getDeploymentName(Windup cr) {
         return cr.getMetadata().getName() + Constants.WEB_DEPLOYMENT_SUFFIX;
     }
@@ -1,17 +1,12 @@
 package org.jboss.windup.operator.cdrs.v2alpha1;
 
-import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
 import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
 import io.fabric8.kubernetes.api.model.networking.v1.IngressTLS;
-import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientException;
-import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Condition;
-import io.quarkus.logging.Log;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ClusterDomainCache;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.inject.Inject;
@@ -20,13 +15,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-public abstract class WebIngressBase extends CRUDKubernetesDependentResource<Ingress, Windup> implements Condition<Ingress, Windup> {
+public abstract class WebIngressBase extends WindupDependentResource<Ingress> implements Condition<Ingress, Windup> {
 
     @Inject
-    KubernetesClient k8sClient;
+    ClusterDomainCache clusterDomainCache;
 
-    public WebIngressBase() {
-        super(Ingress.class);
+    public WebIngressBase(String dependentName) {
+        super(Ingress.class, dependentName);
     }
 
     protected abstract String getHostname(Windup cr);
@@ -48,6 +43,7 @@ public abstract class WebIngressBase extends CRUDKubernetesDependentResource<Ing
                     .withName(ingressName)
                     .withNamespace(cr.getMetadata().getNamespace())
                     .withAnnotations(additionalAnnotations)
+                    .addToAnnotations(getSessionAffinityAnnotations(cr, context))
                     .withLabels(labels)
                     .addToLabels(additionalLabels)
                     .withOwnerReferences(CRDUtils.getOwnerReference(cr))
@@ -75,13 +71,27 @@ public abstract class WebIngressBase extends CRUDKubernetesDependentResource<Ing
                 .build();
     }
 
+    /**
+     * Keeps the requests of a browser on the same replica of the Web Console.
+     */
+    private static Map<String, String> getSessionAffinityAnnotations(Windup cr, Context<Windup> context) {
+        if (WebDeployment.getReplicas(cr, context) <= 1) {
+            return Map.of();
+        }
+        return Map.of(
+                "nginx.ingress.kubernetes.io/affinity", "cookie",
+                "nginx.ingress.kubernetes.io/session-cookie-name", Constants.WEB_SESSION_COOKIE_NAME,
+                "router.openshift.io/cookie_name", Constants.WEB_SESSION_COOKIE_NAME
+        );
+    }
+
     protected String getBaseHostname(Windup cr) {
         String hostname = "";
         final var hostnameSpec = cr.getSpec().getHostnameSpec();
         if (hostnameSpec != null && hostnameSpec.getHostname() != null) {
             hostname = hostnameSpec.getHostname();
         } else {
-            hostname = k8sClient.getConfiguration().getNamespace() + "-" +
+            hostname = cr.getMetadata().getNamespace() + "-" +
                     cr.getMetadata().getName() + "." +
                     getClusterDomainOnOpenshift().orElse("");
         }
@@ -90,29 +100,7 @@ public abstract class WebIngressBase extends CRUDKubernetesDependentResource<Ing
     }
 
     protected Optional<String> getClusterDomainOnOpenshift() {
-        String clusterDomain = null;
-        try {
-            CustomResourceDefinitionContext customResourceDefinitionContext = new CustomResourceDefinitionContext.Builder()
-                    .withName("Ingress")
-                    .withGroup("config.openshift.io")
-                    .withVersion("v1")
-                    .withPlural("ingresses")
-                    .withScope("Cluster")
-                    .build();
-            GenericKubernetesResource clusterObject = k8sClient.genericKubernetesResources(customResourceDefinitionContext)
-                    .withName("cluster")
-                    .get();
-
-            Map<String, String> objectSpec = Optional.ofNullable(clusterObject)
-                    .map(kubernetesResource -> kubernetesResource.<Map<String, String>>get("spec"))
-                    .orElse(Collections.emptyMap());
-            clusterDomain = objectSpec.get("domain");
-        } catch (KubernetesClientException exception) {
-            // Nothing to do
-            Log.info("No Openshift host found");
-        }
-
-        return Optional.ofNullable(clusterDomain);
+        return clusterDomainCache.getClusterDomain();
     }
 
 }
@@ -6,18 +6,24 @@ import io.fabric8.kubernetes.api.model.networking.v1.IngressTLSBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
-@KubernetesDependent(labelSelector = WebIngressSecure.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = WebIngressSecure.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
 public class WebIngressSecure extends WebIngressBase {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web,component-variant=https";
 
+    public WebIngressSecure() {
+        super("ingress-secure");
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected Ingress desired(Windup cr, Context<Windup> context) {
@@ -35,7 +41,7 @@ public class WebIngressSecure extends WebIngressBase {
 
     @Override
     public boolean isMet(Windup cr, Ingress ingress, Context<Windup> context) {
-        return context.getSecondaryResource(Ingress.class, "ingress-secure")
+        return Optional.ofNullable(ingress)
                 .map(in -> {
                     final var status = in.getStatus();
                     if (status != null) {
@@ -56,7 +62,7 @@ public class WebIngressSecure extends WebIngressBase {
                         // Openshift
                         .map(domain -> CRDUtils
                                 .getValueFromSubSpec(cr.getSpec().getHostnameSpec(), WindupSpec.HostnameSpec::getHostname)
-                                .orElseGet(() -> getOpenshiftHostname(cr, k8sClient.getConfiguration().getNamespace(), domain))
+                                .orElseGet(() -> getOpenshiftHostname(cr, cr.getMetadata().getNamespace(), domain))
                         )
                         // Kubernetes vanilla
                         .orElse(null)
@@ -0,0 +1,72 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServiceSpec;
+import io.fabric8.kubernetes.api.model.ServiceSpecBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Headless Service used by the Web Console replicas to discover each other with DNS_PING.
+ */
+@KubernetesDependent(labelSelector = WebPingService.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class WebPingService extends WindupDependentResource<Service> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web-ping";
+
+    public WebPingService() {
+        super(Service.class, "web-ping-service");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Service desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        return new ServiceBuilder()
+                .withNewMetadata()
+                .withName(getServiceName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "web-ping")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withSpec(getServiceSpec(cr))
+                .build();
+    }
+
+    private ServiceSpec getServiceSpec(Windup cr) {
+        return new ServiceSpecBuilder()
+                .addNewPort()
+                .withName("ping")
+                .withPort(Constants.JGROUPS_PING_PORT)
+                .withProtocol(Constants.SERVICE_PROTOCOL)
+                .endPort()
+                // Only the Web Console pods of this Windup are members, like with KUBE_PING
+                .withSelector(getSelectorLabels(cr))
+                .withClusterIP("None")
+                // The members must be found before they are ready to form the cluster
+                .withPublishNotReadyAddresses(true)
+                .build();
+    }
+
+    static Map<String, String> getSelectorLabels(Windup cr) {
+        Map<String, String> selectorLabels = new HashMap<>(Constants.WEB_SELECTOR_LABELS);
+        selectorLabels.put(Constants.PART_OF_LABEL, cr.getMetadata().getName());
+        return selectorLabels;
+    }
+
+    public static String getServiceName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.WEB_PING_SERVICE_SUFFIX;
+    }
+}
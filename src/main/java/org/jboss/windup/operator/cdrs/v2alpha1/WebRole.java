@@ -0,0 +1,54 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.rbac.PolicyRuleBuilder;
+import io.fabric8.kubernetes.api.model.rbac.Role;
+import io.fabric8.kubernetes.api.model.rbac.RoleBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+
+/**
+ * Lets the Web Console replicas list the pods of the namespace to discover each other with KUBE_PING.
+ */
+@KubernetesDependent(labelSelector = WebRole.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class WebRole extends WindupDependentResource<Role> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web";
+
+    public WebRole() {
+        super(Role.class, "web-role");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Role desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        return new RoleBuilder()
+                .withNewMetadata()
+                .withName(getRoleName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "web")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withRules(new PolicyRuleBuilder()
+                        .withApiGroups("")
+                        .withResources("pods")
+                        .withVerbs("get", "list")
+                        .build()
+                )
+                .build();
+    }
+
+    public static String getRoleName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.WEB_ROLE_SUFFIX;
+    }
+}
@@ -0,0 +1,50 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
+import io.fabric8.kubernetes.api.model.rbac.RoleBindingBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+
+@KubernetesDependent(labelSelector = WebRoleBinding.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class WebRoleBinding extends WindupDependentResource<RoleBinding> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web";
+
+    public WebRoleBinding() {
+        super(RoleBinding.class, "web-rolebinding");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected RoleBinding desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        return new RoleBindingBuilder()
+                .withNewMetadata()
+                .withName(WebRole.getRoleName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "web")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .withNewRoleRef()
+                .withApiGroup("rbac.authorization.k8s.io")
+                .withKind("Role")
+                .withName(WebRole.getRoleName(cr))
+                .endRoleRef()
+                .addNewSubject()
+                .withKind("ServiceAccount")
+                .withName(WebServiceAccount.getServiceAccountName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .endSubject()
+                .build();
+    }
+}
@@ -5,22 +5,22 @@ import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServiceSpec;
 import io.fabric8.kubernetes.api.model.ServiceSpecBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
-import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
 import org.jboss.windup.operator.utils.CRDUtils;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.util.Map;
 
-@KubernetesDependent(labelSelector = WebService.LABEL_SELECTOR)
+@KubernetesDependent(labelSelector = WebService.LABEL_SELECTOR, genericFilter = ShardFilter.class)
 @ApplicationScoped
-public class WebService extends CRUDKubernetesDependentResource<Service, Windup> {
+public class WebService extends WindupDependentResource<Service> {
 
     public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web";
 
     public WebService() {
-        super(Service.class);
+        super(Service.class, "web-service");
     }
 
     @Override
@@ -0,0 +1,44 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ServiceAccount;
+import io.fabric8.kubernetes.api.model.ServiceAccountBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ShardFilter;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+
+@KubernetesDependent(labelSelector = WebServiceAccount.LABEL_SELECTOR, genericFilter = ShardFilter.class)
+@ApplicationScoped
+public class WebServiceAccount extends WindupDependentResource<ServiceAccount> {
+
+    public static final String LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component=web";
+
+    public WebServiceAccount() {
+        super(ServiceAccount.class, "web-serviceaccount");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ServiceAccount desired(Windup cr, Context<Windup> context) {
+        final var labels = (Map<String, String>) context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_LABELS_KEY, Map.class);
+
+        return new ServiceAccountBuilder()
+                .withNewMetadata()
+                .withName(getServiceAccountName(cr))
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withLabels(labels)
+                .addToLabels("component", "web")
+                .withOwnerReferences(CRDUtils.getOwnerReference(cr))
+                .endMetadata()
+                .build();
+    }
+
+    public static String getServiceAccountName(Windup cr) {
+        return cr.getMetadata().getName() + Constants.WEB_SERVICE_ACCOUNT_SUFFIX;
+    }
+}
@@ -0,0 +1,109 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.ReconcileResult;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.WindupMetrics;
+
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of all the dependents of a Windup: records the reconcile time and outcome of the dependent,
+ * and the Kubernetes API calls it issues. Writes use server-side apply, so only the fields set in the
+ * desired state are sent and owned by the operator.
+ */
+public abstract class WindupDependentResource<R extends HasMetadata> extends CRUDKubernetesDependentResource<R, Windup> {
+
+    @Inject
+    WindupMetrics metrics;
+
+    private final String dependentName;
+
+    public WindupDependentResource(Class<R> resourceType, String dependentName) {
+        super(resourceType);
+        this.dependentName = dependentName;
+    }
+
+    public String getDependentName() {
+        return dependentName;
+    }
+
+    @Override
+    public ReconcileResult<R> reconcile(Windup cr, Context<Windup> context) {
+        final var sample = metrics.startTimer();
+        try {
+            final var result = super.reconcile(cr, context);
+            final var outcome = result.getResourceOperations().values().stream()
+                    .findFirst()
+                    .map(operation -> switch (operation) {
+                        case CREATED -> "create";
+                        case UPDATED -> "update";
+                        default -> "noop";
+                    })
+                    .orElse("noop");
+            metrics.recordDependentReconcile(cr, dependentName, sample, outcome);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordDependentReconcile(cr, dependentName, sample, "error");
+            throw e;
+        }
+    }
+
+    @Override
+    public R create(R target, Windup cr, Context<Windup> context) {
+        countApiCall(cr, context, "create");
+        return apply(target, cr, "Creating");
+    }
+
+    @Override
+    public R update(R actual, R target, Windup cr, Context<Windup> context) {
+        countApiCall(cr, context, "update");
+        // What a replace of the desired object would have sent, for comparison with what the apply sends
+        metrics.recordWritePayload(dependentName, "replace", payloadBytes(target));
+        return apply(target, cr, "Updating");
+    }
+
+    /**
+     * Deletes the resource when a precondition of the dependent no longer holds, only when it is still in the
+     * cache of the dependent.
+     */
+    @Override
+    public void delete(Windup cr, Context<Windup> context) {
+        context.getSecondaryResource(resourceType(), dependentName).ifPresent(actual -> {
+            countApiCall(cr, context, "delete");
+            client.resource(actual).delete();
+        });
+    }
+
+    private R apply(R target, Windup cr, String actionName) {
+        // Fields of the actual state, like the resourceVersion, must not be part of an apply
+        target.getMetadata().setResourceVersion(null);
+        target.getMetadata().setManagedFields(null);
+
+        metrics.recordWritePayload(dependentName, "apply", payloadBytes(target));
+        return prepare(target, cr, actionName).patch(new PatchContext.Builder()
+                .withPatchType(PatchType.SERVER_SIDE_APPLY)
+                .withFieldManager(Constants.FIELD_MANAGER)
+                // Take over the fields written by the replaces of the previous versions of the operator
+                .withForce(true)
+                .build(), target);
+    }
+
+    private static int payloadBytes(HasMetadata resource) {
+        return Serialization.asJson(resource).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    protected void countApiCall(Windup cr, Context<Windup> context, String verb) {
+        metrics.recordApiCall(cr, dependentName, verb);
+        context.managedDependentResourceContext()
+                .get(Constants.CONTEXT_API_CALLS_KEY, AtomicInteger.class)
+                .ifPresent(AtomicInteger::incrementAndGet);
+    }
+}
@@ -0,0 +1,218 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.Affinity;
+import io.fabric8.kubernetes.api.model.AffinityBuilder;
+import io.fabric8.kubernetes.api.model.ExecActionBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.PodAffinityTerm;
+import io.fabric8.kubernetes.api.model.PodAffinityTermBuilder;
+import io.fabric8.kubernetes.api.model.PodAntiAffinity;
+import io.fabric8.kubernetes.api.model.PodAntiAffinityBuilder;
+import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.Probe;
+import io.fabric8.kubernetes.api.model.ProbeBuilder;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraintBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStrategy;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStrategyBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Matcher;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores the hash of the desired spec as an annotation of the Deployment, so updates are only sent when the
+ * desired spec actually changed.
+ */
+public abstract class WindupDeploymentBase extends WindupDependentResource<Deployment>
+        implements Matcher<Deployment, Windup> {
+
+    private static final Pattern INT_OR_PERCENT = Pattern.compile("\\d{1,9}%?");
+
+    public WindupDeploymentBase(String dependentName) {
+        super(Deployment.class, dependentName);
+    }
+
+    protected abstract Deployment newDeployment(Windup cr, Context<Windup> context);
+
+    @Override
+    protected Deployment desired(Windup cr, Context<Windup> context) {
+        final var deployment = newDeployment(cr, context);
+
+        final var annotations = new HashMap<>(Optional.ofNullable(deployment.getMetadata().getAnnotations()).orElse(Map.of()));
+        annotations.put(Constants.SPEC_HASH_ANNOTATION, CRDUtils.getSpecHash(deployment.getSpec()));
+        deployment.getMetadata().setAnnotations(annotations);
+
+        return deployment;
+    }
+
+    @Override
+    public Result<Deployment> match(Deployment actual, Windup cr, Context<Windup> context) {
+        final var desired = desired(cr, context);
+        final var matched = Objects.equals(getSpecHash(actual), getSpecHash(desired));
+        if (matched) {
+            metrics.dependentUpdate(getDependentName(), "skipped");
+        }
+        return Result.computed(matched, desired);
+    }
+
+    @Override
+    public Deployment update(Deployment actual, Deployment target, Windup primary, Context<Windup> context) {
+        metrics.dependentUpdate(getDependentName(), "applied");
+        return super.update(actual, target, primary, context);
+    }
+
+    /**
+     * Rolling update by default, falls back to Recreate when the pods of two revisions can not run side by side.
+     */
+    protected static DeploymentStrategy getStrategy(WindupSpec.UpdateStrategySpec updateStrategySpec, boolean rollingUpdateSupported) {
+        String type = CRDUtils.getValueFromSubSpec(updateStrategySpec, WindupSpec.UpdateStrategySpec::getType)
+                .orElse(Constants.DEPLOYMENT_STRATEGY_ROLLING_UPDATE);
+
+        if (Constants.DEPLOYMENT_STRATEGY_RECREATE.equals(type)) {
+            return new DeploymentStrategyBuilder()
+                    .withType(Constants.DEPLOYMENT_STRATEGY_RECREATE)
+                    .build();
+        }
+        if (!rollingUpdateSupported) {
+            if (updateStrategySpec != null && Constants.DEPLOYMENT_STRATEGY_ROLLING_UPDATE.equals(updateStrategySpec.getType())) {
+                Log.warn("RollingUpdate is not supported by the storage of the pods, falling back to Recreate");
+            }
+            return new DeploymentStrategyBuilder()
+                    .withType(Constants.DEPLOYMENT_STRATEGY_RECREATE)
+                    .build();
+        }
+
+        String maxSurge = CRDUtils.getValueFromSubSpec(updateStrategySpec, WindupSpec.UpdateStrategySpec::getMaxSurge)
+                .orElse(Constants.DEPLOYMENT_MAX_SURGE);
+        String maxUnavailable = CRDUtils.getValueFromSubSpec(updateStrategySpec, WindupSpec.UpdateStrategySpec::getMaxUnavailable)
+                .orElse(Constants.DEPLOYMENT_MAX_UNAVAILABLE);
+
+        return new DeploymentStrategyBuilder()
+                .withType(Constants.DEPLOYMENT_STRATEGY_ROLLING_UPDATE)
+                .withNewRollingUpdate()
+                .withMaxSurge(toIntOrString("maxSurge", maxSurge, Constants.DEPLOYMENT_MAX_SURGE))
+                .withMaxUnavailable(toIntOrString("maxUnavailable", maxUnavailable, Constants.DEPLOYMENT_MAX_UNAVAILABLE))
+                .endRollingUpdate()
+                .build();
+    }
+
+    /**
+     * Sets the node selector, tolerations, affinity and topology spread constraints of the pods of a component.
+     * The default anti-affinity and spread constraints select the pods through their component and part-of labels.
+     */
+    protected static PodSpecBuilder withPlacement(PodSpecBuilder podSpecBuilder, Windup cr, String component,
+                                                  WindupSpec.PlacementSpec placementSpec, String defaultAntiAffinity,
+                                                  boolean spreadAcrossZones) {
+        LabelSelector podSelector = new LabelSelectorBuilder()
+                .addToMatchLabels("component", component)
+                .addToMatchLabels(Constants.PART_OF_LABEL, cr.getMetadata().getName())
+                .build();
+
+        String antiAffinity = CRDUtils.getValueFromSubSpec(placementSpec, WindupSpec.PlacementSpec::getAntiAffinity)
+                .orElse(defaultAntiAffinity);
+        Affinity affinity = CRDUtils.getValueFromSubSpec(placementSpec, WindupSpec.PlacementSpec::getAffinity)
+                .map(AffinityBuilder::new)
+                .orElseGet(AffinityBuilder::new)
+                .build();
+        if (affinity.getPodAntiAffinity() == null && !Constants.ANTI_AFFINITY_NONE.equals(antiAffinity)) {
+            affinity.setPodAntiAffinity(getPodAntiAffinity(antiAffinity, podSelector));
+        }
+
+        List<TopologySpreadConstraint> topologySpreadConstraints = CRDUtils.getValueFromSubSpec(placementSpec, WindupSpec.PlacementSpec::getTopologySpreadConstraints)
+                .orElseGet(() -> spreadAcrossZones ? List.of(new TopologySpreadConstraintBuilder()
+                        .withMaxSkew(1)
+                        .withTopologyKey(Constants.TOPOLOGY_KEY_ZONE)
+                        .withWhenUnsatisfiable("ScheduleAnyway")
+                        .withLabelSelector(podSelector)
+                        .build()
+                ) : null);
+
+        return podSpecBuilder
+                .withNodeSelector(CRDUtils.getValueFromSubSpec(placementSpec, WindupSpec.PlacementSpec::getNodeSelector).orElse(null))
+                .withTolerations(CRDUtils.getValueFromSubSpec(placementSpec, WindupSpec.PlacementSpec::getTolerations).orElse(null))
+                .withAffinity(affinity.getNodeAffinity() != null || affinity.getPodAffinity() != null || affinity.getPodAntiAffinity() != null ? affinity : null)
+                .withTopologySpreadConstraints(topologySpreadConstraints);
+    }
+
+    private static PodAntiAffinity getPodAntiAffinity(String antiAffinity, LabelSelector podSelector) {
+        PodAffinityTerm term = new PodAffinityTermBuilder()
+                .withTopologyKey(Constants.TOPOLOGY_KEY_HOSTNAME)
+                .withLabelSelector(podSelector)
+                .build();
+
+        if (Constants.ANTI_AFFINITY_REQUIRED.equals(antiAffinity)) {
+            return new PodAntiAffinityBuilder()
+                    .withRequiredDuringSchedulingIgnoredDuringExecution(term)
+                    .build();
+        }
+        return new PodAntiAffinityBuilder()
+                .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                .withWeight(100)
+                .withPodAffinityTerm(term)
+                .endPreferredDuringSchedulingIgnoredDuringExecution()
+                .build();
+    }
+
+    /**
+     * Probes often while the container starts, so the pod is ready as soon as it can be, then hands over to
+     * the readiness and liveness probes.
+     */
+    protected static Probe getStartupProbe(WindupSpec.ProbesSpec probesSpec, String... command) {
+        return new ProbeBuilder()
+                .withExec(new ExecActionBuilder()
+                        .withCommand(command)
+                        .build()
+                )
+                .withTimeoutSeconds(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getTimeoutSeconds).orElse(Constants.PROBE_TIMEOUT_SECONDS))
+                .withPeriodSeconds(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getStartupPeriodSeconds).orElse(Constants.PROBE_STARTUP_PERIOD_SECONDS))
+                .withSuccessThreshold(1)
+                .withFailureThreshold(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getStartupFailureThreshold).orElse(Constants.PROBE_STARTUP_FAILURE_THRESHOLD))
+                .build();
+    }
+
+    /**
+     * Readiness or liveness probe, only run once the startup probe succeeded.
+     */
+    protected static Probe getProbe(WindupSpec.ProbesSpec probesSpec, String... command) {
+        return new ProbeBuilder()
+                .withExec(new ExecActionBuilder()
+                        .withCommand(command)
+                        .build()
+                )
+                .withTimeoutSeconds(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getTimeoutSeconds).orElse(Constants.PROBE_TIMEOUT_SECONDS))
+                .withPeriodSeconds(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getPeriodSeconds).orElse(Constants.PROBE_PERIOD_SECONDS))
+                .withSuccessThreshold(1)
+                .withFailureThreshold(CRDUtils.getValueFromSubSpec(probesSpec, WindupSpec.ProbesSpec::getFailureThreshold).orElse(Constants.PROBE_FAILURE_THRESHOLD))
+                .build();
+    }
+
+    /**
+     * Accepts a number or a percentage, anything else falls back to the default instead of failing the reconcile.
+     */
+    static IntOrString toIntOrString(String field, String value, String defaultValue) {
+        String trimmed = value.trim();
+        if (!INT_OR_PERCENT.matcher(trimmed).matches()) {
+            Log.warnf("Invalid %s '%s' in the update strategy, it must be a number or a percentage, using %s", field, value, defaultValue);
+            trimmed = defaultValue;
+        }
+        return trimmed.endsWith("%") ? new IntOrString(trimmed) : new IntOrString(Integer.parseInt(trimmed));
+    }
+
+    private static String getSpecHash(Deployment deployment) {
+        return Optional.ofNullable(deployment.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(Constants.SPEC_HASH_ANNOTATION))
+                .orElse(null);
+    }
+}
@@ -2,14 +2,18 @@ package org.jboss.windup.operator.cdrs.v2alpha1;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.fabric8.kubernetes.api.model.Affinity;
 import io.fabric8.kubernetes.api.model.LocalObjectReference;
 import io.fabric8.kubernetes.api.model.SecretKeySelector;
+import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -20,9 +24,16 @@ public class WindupSpec {
     @JsonPropertyDescription("Number of instances of the executor pod. Default is 1.")
     private int executorInstances = 1;
 
+    @JsonPropertyDescription("Number of instances of the Web Console pod, clustered with JGroups. More than 1 requires the 'ReadWriteMany' access mode on the data PVC. Default is 1.")
+    private int webInstances = 1;
+
     @JsonPropertyDescription("Size of the PVC where the reports will be stored")
     private String dataSize = "20G";
 
+    @JsonProperty("dataStorage")
+    @JsonPropertyDescription("In this section you can configure the StorageClass, access mode and volume mode of the PVC where the reports will be stored.")
+    private StorageSpec dataStorageSpec;
+
     @JsonPropertyDescription("Secret(s) that might be used when pulling an image from a private container image registry or repository.")
     private List<LocalObjectReference> imagePullSecrets;
 
@@ -50,10 +61,58 @@ public class WindupSpec {
     @JsonPropertyDescription("In this section you can configure resource limits settings for the Executor.")
     private ResourcesLimitSpec executorResourceLimitSpec;
 
+    @JsonProperty("webPlacement")
+    @JsonPropertyDescription("In this section you can configure the nodes the Web Console is scheduled on.")
+    private PlacementSpec webPlacementSpec;
+
+    @JsonProperty("executorPlacement")
+    @JsonPropertyDescription("In this section you can configure the nodes the Executor is scheduled on. By default the Executor pods are spread across nodes and zones.")
+    private PlacementSpec executorPlacementSpec;
+
+    @JsonProperty("webProbes")
+    @JsonPropertyDescription("In this section you can configure the startup, readiness and liveness probes of the Web Console.")
+    private ProbesSpec webProbesSpec;
+
+    @JsonProperty("executorProbes")
+    @JsonPropertyDescription("In this section you can configure the startup, readiness and liveness probes of the Executor.")
+    private ProbesSpec executorProbesSpec;
+
+    @JsonProperty("webUpdateStrategy")
+    @JsonPropertyDescription("In this section you can configure how the Web Console is updated. A rolling update requires the 'ReadWriteMany' access mode on the data PVC, otherwise the Web Console is recreated.")
+    private UpdateStrategySpec webUpdateStrategySpec;
+
+    @JsonProperty("executorUpdateStrategy")
+    @JsonPropertyDescription("In this section you can configure how the Executor is updated.")
+    private UpdateStrategySpec executorUpdateStrategySpec;
+
+    @JsonProperty("executorDrain")
+    @JsonPropertyDescription("In this section you can configure how the Executor pods running an analysis are protected from scale-downs and rollouts.")
+    private ExecutorDrainSpec executorDrainSpec;
+
+    @JsonProperty("executorScratch")
+    @JsonPropertyDescription("In this section you can configure the volume where the Executor unpacks the applications and writes the analysis data.")
+    private ExecutorScratchSpec executorScratchSpec;
+
+    @JsonProperty("webJvm")
+    @JsonPropertyDescription("In this section you can override the JVM options of the Web Console computed from its resource limits.")
+    private JvmSpec webJvmSpec;
+
+    @JsonProperty("executorJvm")
+    @JsonPropertyDescription("In this section you can override the JVM options of the Executor computed from its resource limits.")
+    private JvmSpec executorJvmSpec;
+
     @JsonProperty("jgroups")
     @JsonPropertyDescription("In this section you can configure JGroups settings.")
     private JGroupsSpec jgroupsSpec;
 
+    @JsonProperty("executorAutoscaling")
+    @JsonPropertyDescription("In this section you can configure the autoscaling of the Executor based on the number of pending analyses. When enabled, executorInstances is ignored.")
+    private ExecutorAutoscalingSpec executorAutoscalingSpec;
+
+    @JsonProperty("executorHorizontalPodAutoscaler")
+    @JsonPropertyDescription("In this section you can configure a HorizontalPodAutoscaler for the Executor. When enabled, the replicas of the Executor are managed by the HorizontalPodAutoscaler and executorInstances and executorAutoscaling are ignored.")
+    private ExecutorHorizontalPodAutoscalerSpec executorHorizontalPodAutoscalerSpec;
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -62,6 +121,109 @@ public class WindupSpec {
         @JsonPropertyDescription("Size of the PVC to create.")
         private String size;
 
+        @JsonProperty("storage")
+        @JsonPropertyDescription("In this section you can configure the StorageClass, access mode and volume mode of the PVC.")
+        private StorageSpec storageSpec;
+
+        @JsonProperty("placement")
+        @JsonPropertyDescription("In this section you can configure the nodes the database is scheduled on.")
+        private PlacementSpec placementSpec;
+
+        @JsonProperty("resourceLimits")
+        @JsonPropertyDescription("In this section you can configure resource limits settings.")
+        private ResourcesLimitSpec resourceLimitSpec;
+
+        @JsonPropertyDescription("PostgreSQL parameters, e.g. shared_buffers: 512MB. They override the values computed from the resource limits and the number of executors.")
+        private Map<String, String> parameters;
+
+        @JsonProperty("connectionPooler")
+        @JsonPropertyDescription("In this section you can configure a PgBouncer connection pooler between the Web Console and the database.")
+        private ConnectionPoolerSpec connectionPoolerSpec;
+
+        @JsonProperty("backup")
+        @JsonPropertyDescription("In this section you can configure scheduled backups of the database to a dedicated PVC.")
+        private BackupSpec backupSpec;
+
+        @JsonProperty("restore")
+        @JsonPropertyDescription("In this section you can bootstrap the database from a backup. The Web Console is only started once the restore finished, its outcome is reported in the status. The restore runs once per restore spec.")
+        private RestoreSpec restoreSpec;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BackupSpec {
+        @JsonPropertyDescription("Create the backup PVC and schedule the backups.")
+        private boolean enabled;
+
+        @JsonPropertyDescription("Cron schedule of the backups. Default is '0 2 * * *'.")
+        private String schedule;
+
+        @JsonPropertyDescription("Size of the backup PVC. Default is '10Gi'.")
+        private String size;
+
+        @JsonProperty("storage")
+        @JsonPropertyDescription("In this section you can configure the StorageClass, access mode and volume mode of the backup PVC.")
+        private StorageSpec storageSpec;
+
+        @JsonPropertyDescription("Number of tables dumped in parallel, each one uses a database connection. Default is 4.")
+        private Integer parallelJobs;
+
+        @JsonPropertyDescription("Compression level of the dump, from 0 (none) to 9. Default is 6.")
+        private Integer compressionLevel;
+
+        @JsonPropertyDescription("Number of dumps kept on the backup PVC. Default is 7.")
+        private Integer retention;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RestoreSpec {
+        @JsonPropertyDescription("PVC holding the dump, e.g. the backup PVC of another Windup. Default is the backup PVC of this Windup.")
+        private String claimName;
+
+        @JsonPropertyDescription("Dump to restore, a directory of the PVC. Default is 'latest', the last successful backup.")
+        private String dump;
+
+        @JsonPropertyDescription("Number of tables restored in parallel, each one uses a database connection. Default is 4.")
+        private Integer parallelJobs;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StorageSpec {
+        @JsonPropertyDescription("StorageClass of the PVC. Default is the default StorageClass. The PVC is expanded in place when its size grows and the StorageClass allows volume expansion.")
+        private String storageClassName;
+
+        @JsonPropertyDescription("Access mode of the PVC. Valid values are: 'ReadWriteOnce', 'ReadWriteOncePod', 'ReadWriteMany'. Default is 'ReadWriteOnce'.")
+        private String accessMode;
+
+        @JsonPropertyDescription("Volume mode of the PVC. Valid values are: 'Filesystem', 'Block'. Default is 'Filesystem'.")
+        private String volumeMode;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ConnectionPoolerSpec {
+        @JsonPropertyDescription("Deploy the connection pooler and connect the Web Console through it.")
+        private boolean enabled;
+
+        @JsonPropertyDescription("Pool mode. Valid values are: 'session', 'transaction', 'statement'. Default is 'session'.")
+        private String poolMode;
+
+        @JsonPropertyDescription("Number of server connections per database and user. Default is 20.")
+        private Integer defaultPoolSize;
+
+        @JsonPropertyDescription("Maximum number of client connections. Default is 1000.")
+        private Integer maxClientConnections;
+
         @JsonProperty("resourceLimits")
         @JsonPropertyDescription("In this section you can configure resource limits settings.")
         private ResourcesLimitSpec resourceLimitSpec;
@@ -121,6 +283,111 @@ public class WindupSpec {
         private String memoryLimit;
     }
 
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ExecutorScratchSpec {
+        @JsonPropertyDescription("Valid values are: 'Disk', an emptyDir on the disk of the node; 'Memory', a tmpfs emptyDir counted in the memory limit of the Executor; 'Ephemeral', a volume of the given StorageClass created with the pod. Default is 'Disk'.")
+        private String medium;
+
+        @JsonPropertyDescription("Size of the volume, e.g. 2Gi. Required with 'Memory', falls back to 'Disk' when it does not fit in the memory left by the JVM. Default is 20Gi with 'Ephemeral'.")
+        private String sizeLimit;
+
+        @JsonPropertyDescription("StorageClass of the 'Ephemeral' volume. Default is the default StorageClass.")
+        private String storageClassName;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ExecutorDrainSpec {
+        @JsonPropertyDescription("Time, in seconds, an Executor pod is given to finish its analysis once deleted. Default is 75.")
+        private Long terminationGracePeriodSeconds;
+
+        @JsonPropertyDescription("Command run in the Executor pods, exiting with 0 when the pod is running an analysis. Only used for the pods without the 'windup.jboss.org/executor-busy' annotation.")
+        private List<String> busyProbeCommand;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PlacementSpec {
+        @JsonPropertyDescription("Labels the nodes must have, e.g. a dedicated node pool.")
+        private Map<String, String> nodeSelector;
+
+        @JsonPropertyDescription("Tolerations of the pods, e.g. for the taints of a dedicated node pool.")
+        private List<Toleration> tolerations;
+
+        @JsonPropertyDescription("Affinity of the pods. Its podAntiAffinity takes precedence over antiAffinity.")
+        private Affinity affinity;
+
+        @JsonPropertyDescription("Anti-affinity between the pods of the component on a node. Valid values are: 'Preferred', 'Required', 'None'. Default is 'Preferred' for the Executor and for a clustered Web Console, 'None' otherwise.")
+        private String antiAffinity;
+
+        @JsonPropertyDescription("Topology spread constraints of the pods. Default for the Executor is an even spread across zones when possible.")
+        private List<TopologySpreadConstraint> topologySpreadConstraints;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ProbesSpec {
+        @JsonPropertyDescription("Interval, in seconds, between two startup probes. Default is 5.")
+        private Integer startupPeriodSeconds;
+
+        @JsonPropertyDescription("Failed startup probes before the container is restarted, the time given to start is startupPeriodSeconds * startupFailureThreshold. Default is 60.")
+        private Integer startupFailureThreshold;
+
+        @JsonPropertyDescription("Interval, in seconds, between two readiness or liveness probes once started. Default is 10.")
+        private Integer periodSeconds;
+
+        @JsonPropertyDescription("Timeout, in seconds, of a probe. Default is 10.")
+        private Integer timeoutSeconds;
+
+        @JsonPropertyDescription("Failed readiness or liveness probes before the container is marked unready or restarted. Default is 3.")
+        private Integer failureThreshold;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class UpdateStrategySpec {
+        @JsonPropertyDescription("Valid values are: 'RollingUpdate', 'Recreate'. Default is 'RollingUpdate' when the storage allows it.")
+        private String type;
+
+        @JsonPropertyDescription("Pods created above the desired replicas during a rolling update, a number or a percentage. Default is 25%.")
+        private String maxSurge;
+
+        @JsonPropertyDescription("Pods that can be unavailable during a rolling update, a number or a percentage. Default is 0.")
+        private String maxUnavailable;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class JvmSpec {
+        @JsonPropertyDescription("Maximum heap size, in percent of the memory limit.")
+        private Integer maxHeapPercentage;
+
+        @JsonPropertyDescription("Garbage collector. Valid values are: 'G1', 'ZGC', 'Parallel', 'Serial'. 'ZGC' requires an image running JDK 11 or later.")
+        private String gc;
+
+        @JsonPropertyDescription("Number of parallel GC threads.")
+        private Integer gcThreads;
+
+        @JsonPropertyDescription("Maximum metaspace size, in MB.")
+        private Integer maxMetaspaceSizeMb;
+
+        @JsonPropertyDescription("Additional JVM options.")
+        private String additionalOptions;
+    }
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -140,5 +407,59 @@ public class WindupSpec {
 
         @JsonPropertyDescription("JGroups cluster password.")
         private SecretKeySelector clusterPassword;
+
+        @JsonPropertyDescription("Discovery protocol of the Web Console replicas. Valid values are: 'openshift.KUBE_PING', 'openshift.DNS_PING'. Default is 'openshift.KUBE_PING'.")
+        private String pingProtocol;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ExecutorAutoscalingSpec {
+        @JsonPropertyDescription("Enable the autoscaling of the Executor.")
+        private boolean enabled;
+
+        @JsonPropertyDescription("Minimum number of instances of the executor pod. Default is 1.")
+        private Integer minInstances;
+
+        @JsonPropertyDescription("Maximum number of instances of the executor pod. Default is 5.")
+        private Integer maxInstances;
+
+        @JsonPropertyDescription("Number of pending analyses each executor pod is expected to handle. Default is 1.")
+        private Integer analysesPerInstance;
+
+        @JsonPropertyDescription("Interval, in seconds, between two reads of the pending analyses. Default is 30.")
+        private Integer pollIntervalSeconds;
+
+        @JsonPropertyDescription("Minimum time, in seconds, between a scale event and the next scale up. Default is 60.")
+        private Integer scaleUpCooldownSeconds;
+
+        @JsonPropertyDescription("Minimum time, in seconds, between a scale event and the next scale down. Default is 300.")
+        private Integer scaleDownCooldownSeconds;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ExecutorHorizontalPodAutoscalerSpec {
+        @JsonPropertyDescription("Create a HorizontalPodAutoscaler for the Executor.")
+        private boolean enabled;
+
+        @JsonPropertyDescription("Minimum number of instances of the executor pod. Default is 1.")
+        private Integer minReplicas;
+
+        @JsonPropertyDescription("Maximum number of instances of the executor pod. Default is 5.")
+        private Integer maxReplicas;
+
+        @JsonPropertyDescription("Target average CPU utilization, in percent of the requested CPU. Default is 80.")
+        private Integer targetCPUUtilizationPercentage;
+
+        @JsonPropertyDescription("Target average memory utilization, in percent of the requested memory. Not used by default.")
+        private Integer targetMemoryUtilizationPercentage;
+
+        @JsonPropertyDescription("Time window, in seconds, considered before scaling down. Default is 300.")
+        private Integer scaleDownStabilizationWindowSeconds;
     }
 }
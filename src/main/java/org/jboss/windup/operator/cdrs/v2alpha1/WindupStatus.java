@@ -13,4 +13,88 @@ import java.util.List;
 @AllArgsConstructor
 public class WindupStatus {
     private List<WindupStatusCondition> conditions;
+
+    private ExecutorAutoscalingStatus executorAutoscaling;
+
+    private List<VolumeStatus> volumes;
+
+    private List<RolloutStatus> rollouts;
+
+    private List<PodStartupStatus> podStartups;
+
+    private DatabaseDumpStatus backup;
+
+    private DatabaseDumpStatus restore;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExecutorAutoscalingStatus {
+        private Integer replicas;
+        private Integer pendingAnalyses;
+        private Integer busyExecutors;
+        private String lastScaleTime;
+        private String message;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VolumeStatus {
+        private String name;
+        private String component;
+        private String storageClassName;
+        private String requestedSize;
+        private String capacity;
+        private String state;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RolloutStatus {
+        private String component;
+        private String deployment;
+        private String strategy;
+        private Long generation;
+        private String state;
+        private Integer replicas;
+        private Integer updatedReplicas;
+        private Integer availableReplicas;
+        private String startedAt;
+        private String completedAt;
+        private Long durationSeconds;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PodStartupStatus {
+        private String component;
+        private String pod;
+        private String createdAt;
+        private String readyAt;
+        private Long timeToReadySeconds;
+    }
+
+    @Data
+    @Builder(toBuilder = true)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DatabaseDumpStatus {
+        private String pod;
+        private String state;
+        private String dump;
+        private String startedAt;
+        private String completedAt;
+        private Long durationSeconds;
+        private Long sizeBytes;
+        private Long throughputBytesPerSecond;
+        // Hash of the restore spec of a finished restore, so it is not run again
+        private String specHash;
+    }
 }
@@ -13,10 +13,19 @@ public class WindupStatusCondition {
     public static final String READY = "Ready";
     public static final String HAS_ERRORS = "HasErrors";
     public static final String ROLLING_UPDATE = "RollingUpdate";
+    public static final String DATABASE_READY = "DatabaseReady";
+    public static final String WEB_CONSOLE_READY = "WebConsoleReady";
+    public static final String EXECUTOR_READY = "ExecutorReady";
+    public static final String INGRESS_READY = "IngressReady";
 
     // string to avoid enums in CRDs
     private String type;
     private Boolean status;
+    private String reason;
     private String message;
+    private Long observedGeneration;
+    private String lastTransitionTime;
+    // Time the condition took to become true the last time it did
+    private Long timeToReadySeconds;
 
 }
@@ -0,0 +1,144 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.ReconcileConfig;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cluster domain of OpenShift, read from the config.openshift.io Ingress named "cluster" and shared by all
+ * the ingress dependents. The cached domain is invalidated by a watch on that object. On Kubernetes, where the
+ * object does not exist, the absence of domain is cached for a limited time.
+ */
+@ApplicationScoped
+public class ClusterDomainCache {
+
+    private static final CustomResourceDefinitionContext CLUSTER_INGRESS_CONTEXT = new CustomResourceDefinitionContext.Builder()
+            .withName("Ingress")
+            .withGroup("config.openshift.io")
+            .withVersion("v1")
+            .withPlural("ingresses")
+            .withScope("Cluster")
+            .build();
+
+    @Inject
+    KubernetesClient k8sClient;
+
+    @Inject
+    ReconcileConfig config;
+
+    @Inject
+    WindupMetrics metrics;
+
+    Clock clock = Clock.systemUTC();
+
+    private Optional<String> domain;
+    private String resourceVersion;
+    private Instant expiresAt;
+    private Watch watch;
+
+    public synchronized Optional<String> getClusterDomain() {
+        Instant now = clock.instant();
+        if (domain != null && (expiresAt == null || expiresAt.isAfter(now))) {
+            metrics.clusterDomainCache("hit");
+            return domain;
+        }
+
+        metrics.clusterDomainCache("miss");
+        domain = fetchClusterDomain();
+
+        // Only trust the domain until the next event if the watch could be started
+        expiresAt = domain.isPresent() && startWatch() ? null : now.plus(config.clusterDomainNegativeCacheTtl());
+        return domain;
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (watch != null) {
+            watch.close();
+            watch = null;
+        }
+    }
+
+    private synchronized void invalidate() {
+        domain = null;
+        resourceVersion = null;
+        expiresAt = null;
+    }
+
+    /**
+     * Only a change of the object invalidates the domain, not an event of the version it was read from.
+     */
+    private synchronized void onEvent(GenericKubernetesResource resource) {
+        if (resource == null || !Objects.equals(resource.getMetadata().getResourceVersion(), resourceVersion)) {
+            invalidate();
+        }
+    }
+
+    private Optional<String> fetchClusterDomain() {
+        try {
+            GenericKubernetesResource clusterObject = clusterIngress().get();
+            resourceVersion = Optional.ofNullable(clusterObject)
+                    .map(kubernetesResource -> kubernetesResource.getMetadata().getResourceVersion())
+                    .orElse(null);
+
+            Map<String, String> objectSpec = Optional.ofNullable(clusterObject)
+                    .map(kubernetesResource -> kubernetesResource.<Map<String, String>>get("spec"))
+                    .orElse(Collections.emptyMap());
+            return Optional.ofNullable(objectSpec.get("domain"));
+        } catch (KubernetesClientException exception) {
+            Log.info("No Openshift host found");
+            return Optional.empty();
+        }
+    }
+
+    private boolean startWatch() {
+        if (watch != null) {
+            return true;
+        }
+
+        try {
+            // From the version that was read, a watch without version starts with an ADDED event of the object
+            watch = clusterIngress().watch(new ListOptionsBuilder().withResourceVersion(resourceVersion).build(), new Watcher<>() {
+                @Override
+                public void eventReceived(Action action, GenericKubernetesResource resource) {
+                    onEvent(resource);
+                }
+
+                @Override
+                public void onClose(WatcherException cause) {
+                    Log.infof("Watch of the cluster domain closed: %s", cause.getMessage());
+                    synchronized (ClusterDomainCache.this) {
+                        watch = null;
+                        invalidate();
+                    }
+                }
+            });
+            return true;
+        } catch (KubernetesClientException exception) {
+            Log.warnf("Could not watch the cluster domain, it will be read again in %s: %s", config.clusterDomainNegativeCacheTtl(), exception.getMessage());
+            return false;
+        }
+    }
+
+    private Resource<GenericKubernetesResource> clusterIngress() {
+        return k8sClient.genericKubernetesResources(CLUSTER_INGRESS_CONTEXT).withName("cluster");
+    }
+}
@@ -0,0 +1,123 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBRestoreJob;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatusCondition;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Computes a readiness condition per component, and an overall Ready condition, from the dependents of a
+ * Windup. The transition time of a condition only changes when its status does, so an unchanged
+ * readiness leaves the status, and the CR, untouched.
+ */
+@ApplicationScoped
+public class ComponentReadiness {
+
+    @Inject
+    WindupMetrics metrics;
+
+    Clock clock = Clock.systemUTC();
+
+    public List<WindupStatusCondition> getConditions(Windup cr, Context<Windup> context) {
+        final var previous = Optional.ofNullable(cr.getStatus())
+                .map(WindupStatus::getConditions)
+                .orElse(List.of())
+                .stream()
+                .collect(Collectors.toMap(WindupStatusCondition::getType, Function.identity(), (a, b) -> b));
+        final var now = clock.instant();
+
+        final var components = List.of(
+                deploymentReadiness(WindupStatusCondition.DATABASE_READY, context.getSecondaryResource(Deployment.class, "db-deployment")),
+                DBRestoreJob.isPending(cr, context)
+                        ? new Readiness(WindupStatusCondition.WEB_CONSOLE_READY, false, "RestorePending", "Waiting for the restore of the database")
+                        : deploymentReadiness(WindupStatusCondition.WEB_CONSOLE_READY, context.getSecondaryResource(Deployment.class, "web-deployment")),
+                deploymentReadiness(WindupStatusCondition.EXECUTOR_READY, context.getSecondaryResource(Deployment.class, "executor-deployment")),
+                ingressReadiness(context.getSecondaryResource(Ingress.class, "ingress"))
+        );
+
+        final var conditions = new ArrayList<WindupStatusCondition>();
+        components.forEach(readiness -> conditions.add(next(cr, readiness, previous.get(readiness.type()), now)));
+
+        final var notReady = components.stream()
+                .filter(readiness -> !readiness.ready())
+                .map(Readiness::type)
+                .toList();
+        final var overall = new Readiness(
+                WindupStatusCondition.READY,
+                notReady.isEmpty(),
+                notReady.isEmpty() ? "AllComponentsReady" : "ComponentsNotReady",
+                notReady.isEmpty() ? null : "Waiting for " + String.join(", ", notReady)
+        );
+        conditions.add(next(cr, overall, previous.get(WindupStatusCondition.READY), now));
+
+        return conditions;
+    }
+
+    WindupStatusCondition next(Windup cr, Readiness readiness, WindupStatusCondition previous, Instant now) {
+        final var transition = previous == null || !Objects.equals(previous.getStatus(), readiness.ready());
+
+        String lastTransitionTime = transition ? now.toString() : previous.getLastTransitionTime();
+        Long timeToReadySeconds = transition ? null : previous.getTimeToReadySeconds();
+        if (transition && readiness.ready() && previous != null && previous.getLastTransitionTime() != null) {
+            // Measured from the time it became not ready
+            final var timeToReady = Duration.between(Instant.parse(previous.getLastTransitionTime()), now);
+            timeToReadySeconds = timeToReady.toSeconds();
+            metrics.recordComponentTimeToReady(cr, readiness.type(), timeToReady);
+        }
+
+        return WindupStatusCondition.builder()
+                .type(readiness.type())
+                .status(readiness.ready())
+                .reason(readiness.reason())
+                .message(readiness.message())
+                .observedGeneration(cr.getMetadata().getGeneration())
+                .lastTransitionTime(lastTransitionTime)
+                .timeToReadySeconds(timeToReadySeconds)
+                .build();
+    }
+
+    static Readiness deploymentReadiness(String type, Optional<Deployment> deployment) {
+        if (deployment.isEmpty()) {
+            return new Readiness(type, false, "NotCreated", null);
+        }
+
+        final var status = deployment.get().getStatus();
+        final int replicas = Optional.ofNullable(deployment.get().getSpec().getReplicas()).orElse(1);
+        final int readyReplicas = status != null && status.getReadyReplicas() != null ? status.getReadyReplicas() : 0;
+        // A component scaled to zero has nothing to wait for
+        final var ready = replicas == 0 || readyReplicas >= 1;
+
+        return new Readiness(type, ready, ready ? "ReplicasReady" : "ReplicasNotReady", readyReplicas + "/" + replicas + " replicas ready");
+    }
+
+    static Readiness ingressReadiness(Optional<Ingress> ingress) {
+        if (ingress.isEmpty()) {
+            return new Readiness(WindupStatusCondition.INGRESS_READY, false, "NotCreated", null);
+        }
+
+        final var ready = Optional.ofNullable(ingress.get().getStatus())
+                .map(status -> status.getLoadBalancer())
+                .map(loadBalancer -> loadBalancer.getIngress())
+                .map(ingresses -> !ingresses.isEmpty())
+                .orElse(false);
+        return new Readiness(WindupStatusCondition.INGRESS_READY, ready, ready ? "LoadBalancerAssigned" : "LoadBalancerPending", null);
+    }
+
+    record Readiness(String type, boolean ready, String reason, String message) {
+    }
+}
@@ -0,0 +1,171 @@
+package org.jboss.windup.operator.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.fabric8.kubernetes.api.model.ContainerStateTerminated;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBRestoreJob;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reports the last backup and restore of the database, read from the pods of their jobs: the state, the
+ * duration, and the size of the dump written in the termination message, from which the throughput is computed.
+ * The last report is kept once the pods are deleted. The outcome of the restore Job, with the hash of its restore
+ * spec, is recorded so the restore is not run again, see {@link DBRestoreJob}.
+ */
+@ApplicationScoped
+public class DatabaseDumpTracker {
+
+    public static final String BACKUP = "db-backup";
+    public static final String RESTORE = "db-restore";
+
+    @Inject
+    WindupMetrics metrics;
+
+    public WindupStatus.DatabaseDumpStatus getBackupStatus(Windup cr, Context<Windup> context) {
+        return getStatus(cr, context, BACKUP, WindupStatus::getBackup);
+    }
+
+    public WindupStatus.DatabaseDumpStatus getRestoreStatus(Windup cr, Context<Windup> context) {
+        final var status = getStatus(cr, context, RESTORE, WindupStatus::getRestore);
+        return withRestoreOutcome(cr, status, context.getSecondaryResource(Job.class, DBRestoreJob.DEPENDENT_NAME).orElse(null));
+    }
+
+    static WindupStatus.DatabaseDumpStatus withRestoreOutcome(Windup cr, WindupStatus.DatabaseDumpStatus status, Job job) {
+        final var specHash = DBRestoreJob.getSpecHash(cr);
+        if (specHash == null) {
+            // Forgotten with the restore spec, setting it back runs the restore again
+            return status == null || status.getSpecHash() == null ? status : status.toBuilder().specHash(null).build();
+        }
+
+        final var state = job != null ? DBRestoreJob.getState(job) : null;
+        if (state == null) {
+            // The pods of a deleted Job can outlive it, the outcome stays recorded
+            final var previous = Optional.ofNullable(cr.getStatus()).map(WindupStatus::getRestore).orElse(null);
+            if (job == null && status != null && status.getSpecHash() == null
+                    && previous != null && previous.getSpecHash() != null && Objects.equals(status.getPod(), previous.getPod())) {
+                return status.toBuilder().state(previous.getState()).specHash(previous.getSpecHash()).build();
+            }
+            return status;
+        }
+
+        final var jobSpecHash = DBRestoreJob.getSpecHash(job, specHash);
+        if (status != null && state.equals(status.getState()) && jobSpecHash.equals(status.getSpecHash())) {
+            return status;
+        }
+        if (Constants.DB_DUMP_STATE_FAILED.equals(state)) {
+            Log.warnf("The restore of the database of %s failed, the Web Console is started on the database as it is", cr.getMetadata().getName());
+        }
+        return Optional.ofNullable(status)
+                .map(WindupStatus.DatabaseDumpStatus::toBuilder)
+                .orElseGet(WindupStatus.DatabaseDumpStatus::builder)
+                .state(state)
+                .specHash(jobSpecHash)
+                .build();
+    }
+
+    private WindupStatus.DatabaseDumpStatus getStatus(Windup cr, Context<Windup> context, String component, Function<WindupStatus, WindupStatus.DatabaseDumpStatus> previousStatus) {
+        final var previous = Optional.ofNullable(cr.getStatus())
+                .map(previousStatus)
+                .orElse(null);
+
+        return context.getSecondaryResources(Pod.class).stream()
+                .filter(pod -> pod.getMetadata().getLabels() != null && component.equals(pod.getMetadata().getLabels().get("component")))
+                .filter(pod -> pod.getMetadata().getCreationTimestamp() != null)
+                .max(Comparator.comparing(pod -> Instant.parse(pod.getMetadata().getCreationTimestamp())))
+                .map(pod -> next(cr, component, getDumpStatus(pod), previous))
+                .orElse(previous);
+    }
+
+    WindupStatus.DatabaseDumpStatus next(Windup cr, String component, WindupStatus.DatabaseDumpStatus current, WindupStatus.DatabaseDumpStatus previous) {
+        final var completed = Constants.DB_DUMP_STATE_SUCCEEDED.equals(current.getState()) && current.getDurationSeconds() != null;
+        final var recorded = previous != null
+                && Objects.equals(previous.getPod(), current.getPod())
+                && Objects.equals(previous.getState(), current.getState());
+        if (completed && !recorded) {
+            metrics.recordDatabaseDump(cr, component, Duration.ofSeconds(current.getDurationSeconds()), current.getSizeBytes());
+        }
+        return current;
+    }
+
+    static WindupStatus.DatabaseDumpStatus getDumpStatus(Pod pod) {
+        final var builder = WindupStatus.DatabaseDumpStatus.builder()
+                .pod(pod.getMetadata().getName())
+                .state(Constants.DB_DUMP_STATE_PENDING);
+
+        final var state = Optional.ofNullable(pod.getStatus())
+                .map(status -> status.getContainerStatuses())
+                .flatMap(statuses -> statuses.stream().findFirst())
+                .map(status -> status.getState());
+        if (state.isEmpty()) {
+            return builder.build();
+        }
+
+        if (state.get().getRunning() != null) {
+            return builder
+                    .state(Constants.DB_DUMP_STATE_RUNNING)
+                    .startedAt(state.get().getRunning().getStartedAt())
+                    .build();
+        }
+
+        final ContainerStateTerminated terminated = state.get().getTerminated();
+        if (terminated == null) {
+            return builder.build();
+        }
+
+        builder.state(Objects.equals(terminated.getExitCode(), 0) ? Constants.DB_DUMP_STATE_SUCCEEDED : Constants.DB_DUMP_STATE_FAILED)
+                .startedAt(terminated.getStartedAt())
+                .completedAt(terminated.getFinishedAt());
+
+        Long durationSeconds = null;
+        if (terminated.getStartedAt() != null && terminated.getFinishedAt() != null) {
+            durationSeconds = Duration.between(Instant.parse(terminated.getStartedAt()), Instant.parse(terminated.getFinishedAt())).toSeconds();
+            builder.durationSeconds(durationSeconds);
+        }
+
+        final var report = getReport(pod, terminated.getMessage());
+        if (report != null) {
+            builder.dump(report.dump());
+            if (report.bytes() != null) {
+                builder.sizeBytes(report.bytes());
+                if (durationSeconds != null) {
+                    builder.throughputBytesPerSecond(report.bytes() / Math.max(1, durationSeconds));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static Report getReport(Pod pod, String message) {
+        if (message == null || message.isBlank()) {
+            return null;
+        }
+        try {
+            final var json = Serialization.jsonMapper().readTree(message);
+            return new Report(
+                    json.path("dump").isTextual() ? json.path("dump").asText() : null,
+                    json.path("bytes").canConvertToLong() ? json.path("bytes").asLong() : null
+            );
+        } catch (JsonProcessingException e) {
+            Log.debugf("Unexpected termination message of %s: %s", pod.getMetadata().getName(), message);
+            return null;
+        }
+    }
+
+    record Report(String dump, Long bytes) {
+    }
+}
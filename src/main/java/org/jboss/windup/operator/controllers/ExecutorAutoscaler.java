@@ -0,0 +1,315 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.AutoscalerConfig;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.ExecutorHorizontalPodAutoscaler;
+import org.jboss.windup.operator.cdrs.v2alpha1.WebService;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scales the Executor between the configured bounds based on the number of pending analyses
+ * reported by the Web Console.
+ * <p>
+ * The Web Console is polled off the reconcile thread, at most once per poll interval. Reconciles decide on
+ * the last result. The state of a Windup starts from the replicas of its running Executor Deployment, or of
+ * its status, so an operator restart or a shard move does not scale the Executor back to the spec.
+ */
+@ApplicationScoped
+public class ExecutorAutoscaler {
+
+    @Inject
+    AutoscalerConfig config;
+
+    Clock clock = Clock.systemUTC();
+
+    PendingAnalysesClient pendingAnalysesClient;
+
+    private final ExecutorService pollExecutorService = Executors.newFixedThreadPool(Constants.EXECUTOR_AUTOSCALING_POLL_THREADS, runnable -> {
+        final var thread = new Thread(runnable, "executor-autoscaler-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    Executor pollExecutor = pollExecutorService;
+
+    private final Map<ResourceID, State> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        pendingAnalysesClient = new PendingAnalysesClient(config.requestTimeout(), config.pendingStates());
+    }
+
+    @PreDestroy
+    void close() {
+        pollExecutorService.shutdownNow();
+    }
+
+    public boolean isEnabled(Windup cr) {
+        // The HorizontalPodAutoscaler takes precedence
+        return !ExecutorHorizontalPodAutoscaler.isEnabled(cr) &&
+                CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorAutoscalingSpec(), WindupSpec.ExecutorAutoscalingSpec::isEnabled)
+                        .orElse(false);
+    }
+
+    /**
+     * Number of replicas the Executor Deployment should have.
+     */
+    public int getReplicas(Windup cr, Context<Windup> context) {
+        if (!isEnabled(cr)) {
+            return cr.getSpec().getExecutorInstances();
+        }
+
+        State state = getState(cr, getActualReplicas(context));
+        synchronized (state) {
+            return Bounds.of(cr).clamp(state.replicas);
+        }
+    }
+
+    int getReplicas(Windup cr) {
+        if (!isEnabled(cr)) {
+            return cr.getSpec().getExecutorInstances();
+        }
+
+        State state = getState(cr, null);
+        synchronized (state) {
+            return Bounds.of(cr).clamp(state.replicas);
+        }
+    }
+
+    public void forget(Windup cr) {
+        states.remove(ResourceID.fromResource(cr));
+    }
+
+    /**
+     * Starts a poll of the pending analyses, if the poll interval has elapsed, and computes the new number of
+     * replicas from the last result. Never scales down below the number of executors running an analysis.
+     *
+     * @return the delay before the next evaluation, or empty if autoscaling is disabled
+     */
+    public Optional<Duration> evaluate(Windup cr, Context<Windup> context, int busyExecutors) {
+        if (isEnabled(cr)) {
+            getState(cr, getActualReplicas(context));
+        }
+        return evaluate(cr, busyExecutors);
+    }
+
+    Optional<Duration> evaluate(Windup cr, int busyExecutors) {
+        ResourceID resourceID = ResourceID.fromResource(cr);
+        if (!isEnabled(cr)) {
+            states.remove(resourceID);
+            return Optional.empty();
+        }
+
+        Bounds bounds = Bounds.of(cr);
+        Instant now = clock.instant();
+        State state = getState(cr, null);
+
+        boolean pollDue;
+        synchronized (state) {
+            state.busyExecutors = busyExecutors;
+            pollDue = !state.polling && (state.lastPoll == null || !state.lastPoll.plus(bounds.pollInterval).isAfter(now));
+            if (pollDue) {
+                state.lastPoll = now;
+                state.polling = true;
+            }
+        }
+        if (pollDue) {
+            submitPoll(getPendingAnalysesUri(cr), state);
+        }
+
+        synchronized (state) {
+            if (state.polling) {
+                // Decide on the result shortly
+                return Optional.of(Duration.ofSeconds(1));
+            }
+            if (!state.newResult) {
+                return Optional.of(Duration.between(now, state.lastPoll.plus(bounds.pollInterval)));
+            }
+            state.newResult = false;
+
+            int currentReplicas = bounds.clamp(state.replicas);
+            int desiredReplicas = computeReplicas(currentReplicas, state.pendingAnalyses, bounds, state.lastScale, now);
+            if (desiredReplicas < currentReplicas && desiredReplicas < busyExecutors) {
+                desiredReplicas = Math.min(currentReplicas, busyExecutors);
+            }
+            if (desiredReplicas != currentReplicas) {
+                Log.infof("Scaling executor of %s from %d to %d replicas, %d pending analyses", cr.getMetadata().getName(), currentReplicas, desiredReplicas, state.pendingAnalyses);
+                state.lastScale = now;
+                state.replicas = desiredReplicas;
+
+                // Apply the new replicas right away
+                return Optional.of(Duration.ofSeconds(1));
+            }
+            state.replicas = currentReplicas;
+
+            return Optional.of(Duration.between(now, state.lastPoll.plus(bounds.pollInterval)));
+        }
+    }
+
+    private State getState(Windup cr, Integer actualReplicas) {
+        return states.computeIfAbsent(ResourceID.fromResource(cr), id -> new State(Bounds.of(cr).clamp(getInitialReplicas(cr, actualReplicas))));
+    }
+
+    /**
+     * The replicas of the running Executor Deployment, then the ones of the status, before the spec.
+     */
+    static int getInitialReplicas(Windup cr, Integer actualReplicas) {
+        if (actualReplicas != null) {
+            return actualReplicas;
+        }
+        return Optional.ofNullable(cr.getStatus())
+                .map(WindupStatus::getExecutorAutoscaling)
+                .map(WindupStatus.ExecutorAutoscalingStatus::getReplicas)
+                .orElse(cr.getSpec().getExecutorInstances());
+    }
+
+    private static Integer getActualReplicas(Context<Windup> context) {
+        return context.getSecondaryResource(Deployment.class, "executor-deployment")
+                .map(deployment -> deployment.getSpec().getReplicas())
+                .orElse(null);
+    }
+
+    private void submitPoll(URI uri, State state) {
+        try {
+            pollExecutor.execute(() -> poll(uri, state));
+        } catch (RuntimeException e) {
+            synchronized (state) {
+                state.polling = false;
+            }
+            Log.warnf("Could not schedule the poll of the pending analyses from %s: %s", uri, e.getMessage());
+        }
+    }
+
+    private void poll(URI uri, State state) {
+        try {
+            int pendingAnalyses = pendingAnalysesClient.fetchPendingAnalyses(uri);
+            synchronized (state) {
+                state.pendingAnalyses = pendingAnalyses;
+                state.newResult = true;
+                state.message = null;
+            }
+        } catch (IOException e) {
+            Log.warnf("Could not read pending analyses from %s: %s", uri, e.getMessage());
+            synchronized (state) {
+                state.message = "Could not read pending analyses: " + e.getMessage();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (state) {
+                state.polling = false;
+            }
+        }
+    }
+
+    public WindupStatus.ExecutorAutoscalingStatus getStatus(Windup cr) {
+        if (!isEnabled(cr)) {
+            return null;
+        }
+
+        State state = states.get(ResourceID.fromResource(cr));
+        if (state == null) {
+            return null;
+        }
+
+        synchronized (state) {
+            return WindupStatus.ExecutorAutoscalingStatus.builder()
+                    .replicas(state.replicas)
+                    .pendingAnalyses(state.pendingAnalyses)
+                    .busyExecutors(state.busyExecutors)
+                    .lastScaleTime(state.lastScale != null ? state.lastScale.toString() : null)
+                    .message(state.message)
+                    .build();
+        }
+    }
+
+    private URI getPendingAnalysesUri(Windup cr) {
+        String baseUrl = String.format(config.webUrl(), WebService.getServiceName(cr), cr.getMetadata().getNamespace(), WebService.getServicePort(cr));
+        return URI.create(baseUrl + config.pendingAnalysesPath());
+    }
+
+    static int computeReplicas(int currentReplicas, Integer pendingAnalyses, Bounds bounds, Instant lastScale, Instant now) {
+        if (pendingAnalyses == null) {
+            return currentReplicas;
+        }
+
+        int neededReplicas = bounds.clamp((pendingAnalyses + bounds.analysesPerInstance - 1) / bounds.analysesPerInstance);
+        if (neededReplicas > currentReplicas) {
+            return lastScale == null || !lastScale.plus(bounds.scaleUpCooldown).isAfter(now) ? neededReplicas : currentReplicas;
+        } else if (neededReplicas < currentReplicas) {
+            return lastScale == null || !lastScale.plus(bounds.scaleDownCooldown).isAfter(now) ? neededReplicas : currentReplicas;
+        }
+        return currentReplicas;
+    }
+
+    static class State {
+        int replicas;
+        Integer pendingAnalyses;
+        int busyExecutors;
+        Instant lastPoll;
+        Instant lastScale;
+        String message;
+        boolean polling;
+        boolean newResult;
+
+        State(int replicas) {
+            this.replicas = replicas;
+        }
+    }
+
+    record Bounds(int min, int max, int analysesPerInstance, Duration pollInterval, Duration scaleUpCooldown, Duration scaleDownCooldown) {
+
+        static Bounds of(Windup cr) {
+            WindupSpec.ExecutorAutoscalingSpec spec = cr.getSpec().getExecutorAutoscalingSpec();
+
+            int min = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getMinInstances)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_MIN_INSTANCES);
+            int max = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getMaxInstances)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_MAX_INSTANCES);
+            int analysesPerInstance = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getAnalysesPerInstance)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_ANALYSES_PER_INSTANCE);
+            int pollInterval = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getPollIntervalSeconds)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_POLL_INTERVAL_SECONDS);
+            int scaleUpCooldown = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getScaleUpCooldownSeconds)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_SCALE_UP_COOLDOWN_SECONDS);
+            int scaleDownCooldown = CRDUtils.getValueFromSubSpec(spec, WindupSpec.ExecutorAutoscalingSpec::getScaleDownCooldownSeconds)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_SCALE_DOWN_COOLDOWN_SECONDS);
+
+            return new Bounds(
+                    Math.max(0, min),
+                    Math.max(Math.max(0, min), max),
+                    Math.max(1, analysesPerInstance),
+                    Duration.ofSeconds(Math.max(1, pollInterval)),
+                    Duration.ofSeconds(Math.max(0, scaleUpCooldown)),
+                    Duration.ofSeconds(Math.max(0, scaleDownCooldown))
+            );
+        }
+
+        int clamp(int replicas) {
+            return Math.min(max, Math.max(min, replicas));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the Executor pods running an analysis and gives them a high pod-deletion-cost, so the ReplicaSet
+ * controller removes the idle pods first on scale-downs and rollouts. A pod is busy when its
+ * 'windup.jboss.org/executor-busy' annotation is 'true' or, without the annotation, when the configured
+ * busy probe command succeeds in it.
+ * <p>
+ * The probe commands are run off the reconcile thread, at most once per autoscaler poll interval and pod.
+ * Reconciles read the last results, and the probes set the deletion cost of the pods themselves.
+ */
+@ApplicationScoped
+public class ExecutorDrainer {
+
+    @Inject
+    KubernetesClient k8sClient;
+
+    Clock clock = Clock.systemUTC();
+
+    private final ExecutorService probeExecutorService = Executors.newFixedThreadPool(Constants.EXECUTOR_BUSY_PROBE_THREADS, runnable -> {
+        final var thread = new Thread(runnable, "executor-busy-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    Executor probeExecutor = probeExecutorService;
+
+    // By Windup and pod uid
+    private final Map<ResourceID, Map<String, ProbeResult>> probeResults = new ConcurrentHashMap<>();
+    private final Set<String> probesInFlight = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    void close() {
+        probeExecutorService.shutdownNow();
+    }
+
+    /**
+     * @return the number of busy Executor pods
+     */
+    public int evaluate(Windup cr, Context<Windup> context) {
+        return evaluate(cr, context.getSecondaryResources(Pod.class));
+    }
+
+    int evaluate(Windup cr, Collection<Pod> pods) {
+        List<String> busyProbeCommand = getBusyProbeCommand(cr).orElse(null);
+        Duration probeInterval = ExecutorAutoscaler.Bounds.of(cr).pollInterval();
+        Instant now = clock.instant();
+
+        List<Pod> executors = pods.stream()
+                .filter(pod -> isExecutor(pod) && pod.getMetadata().getDeletionTimestamp() == null && isRunning(pod))
+                .toList();
+
+        // Forget the deleted pods
+        Map<String, ProbeResult> results = probeResults.computeIfAbsent(ResourceID.fromResource(cr), id -> new ConcurrentHashMap<>());
+        Set<String> uids = executors.stream().map(pod -> pod.getMetadata().getUid()).collect(Collectors.toSet());
+        results.keySet().retainAll(uids);
+
+        int busyExecutors = 0;
+        for (Pod pod : executors) {
+            Optional<String> busyAnnotation = getAnnotation(pod, Constants.EXECUTOR_BUSY_ANNOTATION);
+            boolean busy;
+            if (busyAnnotation.isPresent()) {
+                busy = Boolean.parseBoolean(busyAnnotation.get());
+                updateDeletionCost(pod, busy);
+            } else if (busyProbeCommand != null) {
+                ProbeResult result = results.get(pod.getMetadata().getUid());
+                busy = result != null && result.busy();
+                if (result == null || !result.probedAt().plus(probeInterval).isAfter(now)) {
+                    submitProbe(results, pod, busyProbeCommand);
+                }
+            } else {
+                busy = false;
+                updateDeletionCost(pod, false);
+            }
+
+            if (busy) {
+                busyExecutors++;
+            }
+        }
+        return busyExecutors;
+    }
+
+    /**
+     * Delay before the probes of the Executor pods are due again, empty without busy probe command.
+     */
+    public Optional<Duration> getProbeDelay(Windup cr) {
+        return getBusyProbeCommand(cr)
+                .map(command -> ExecutorAutoscaler.Bounds.of(cr).pollInterval());
+    }
+
+    public void forget(Windup cr) {
+        probeResults.remove(ResourceID.fromResource(cr));
+    }
+
+    /**
+     * Updates of a pod that only change its deletion cost are the ones made by the drainer, they do not need a reconcile.
+     */
+    public static boolean isDeletionCostUpdate(Pod newPod, Pod oldPod) {
+        if (oldPod == null
+                || !Objects.equals(newPod.getSpec(), oldPod.getSpec())
+                || !Objects.equals(newPod.getStatus(), oldPod.getStatus())
+                || !Objects.equals(newPod.getMetadata().getLabels(), oldPod.getMetadata().getLabels())
+                || !Objects.equals(newPod.getMetadata().getDeletionTimestamp(), oldPod.getMetadata().getDeletionTimestamp())) {
+            return false;
+        }
+
+        Map<String, String> newAnnotations = new HashMap<>(Optional.ofNullable(newPod.getMetadata().getAnnotations()).orElse(Map.of()));
+        Map<String, String> oldAnnotations = new HashMap<>(Optional.ofNullable(oldPod.getMetadata().getAnnotations()).orElse(Map.of()));
+        String newDeletionCost = newAnnotations.remove(Constants.POD_DELETION_COST_ANNOTATION);
+        String oldDeletionCost = oldAnnotations.remove(Constants.POD_DELETION_COST_ANNOTATION);
+        return !Objects.equals(newDeletionCost, oldDeletionCost) && newAnnotations.equals(oldAnnotations);
+    }
+
+    private void submitProbe(Map<String, ProbeResult> results, Pod pod, List<String> busyProbeCommand) {
+        String uid = pod.getMetadata().getUid();
+        if (!probesInFlight.add(uid)) {
+            return;
+        }
+
+        try {
+            probeExecutor.execute(() -> {
+                try {
+                    boolean busy = probe(pod, busyProbeCommand);
+                    results.put(uid, new ProbeResult(busy, clock.instant()));
+                    updateDeletionCost(pod, busy);
+                } finally {
+                    probesInFlight.remove(uid);
+                }
+            });
+        } catch (RuntimeException e) {
+            probesInFlight.remove(uid);
+            Log.warnf("Could not schedule the probe of the executor pod %s: %s", pod.getMetadata().getName(), e.getMessage());
+        }
+    }
+
+    boolean probe(Pod pod, List<String> busyProbeCommand) {
+        try (ExecWatch watch = k8sClient.pods()
+                .inNamespace(pod.getMetadata().getNamespace())
+                .withName(pod.getMetadata().getName())
+                .inContainer(Constants.WINDUP_EXECUTOR_NAME)
+                .exec(busyProbeCommand.toArray(String[]::new))) {
+            Integer exitCode = watch.exitCode().get(Constants.EXECUTOR_BUSY_PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return exitCode != null && exitCode == 0;
+        } catch (KubernetesClientException | ExecutionException | TimeoutException e) {
+            Log.warnf("Could not probe the executor pod %s: %s", pod.getMetadata().getName(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void updateDeletionCost(Pod pod, boolean busy) {
+        String deletionCost = busy ? String.valueOf(Constants.EXECUTOR_BUSY_DELETION_COST) : "0";
+        if (deletionCost.equals(getAnnotation(pod, Constants.POD_DELETION_COST_ANNOTATION).orElse("0"))) {
+            return;
+        }
+
+        try {
+            k8sClient.pods()
+                    .inNamespace(pod.getMetadata().getNamespace())
+                    .withName(pod.getMetadata().getName())
+                    .edit(p -> new PodBuilder(p)
+                            .editMetadata()
+                            .addToAnnotations(Constants.POD_DELETION_COST_ANNOTATION, deletionCost)
+                            .endMetadata()
+                            .build()
+                    );
+        } catch (KubernetesClientException e) {
+            Log.warnf("Could not set the deletion cost of the executor pod %s: %s", pod.getMetadata().getName(), e.getMessage());
+        }
+    }
+
+    private static Optional<List<String>> getBusyProbeCommand(Windup cr) {
+        return CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorDrainSpec(), WindupSpec.ExecutorDrainSpec::getBusyProbeCommand)
+                .filter(command -> !command.isEmpty());
+    }
+
+    private static boolean isExecutor(Pod pod) {
+        return pod.getMetadata().getLabels() != null && "executor".equals(pod.getMetadata().getLabels().get("component"));
+    }
+
+    private static boolean isRunning(Pod pod) {
+        return pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase());
+    }
+
+    private static Optional<String> getAnnotation(Pod pod, String name) {
+        return Optional.ofNullable(pod.getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(name));
+    }
+
+    record ProbeResult(boolean busy, Instant probedAt) {
+    }
+}
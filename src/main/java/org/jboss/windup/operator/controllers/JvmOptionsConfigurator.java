@@ -0,0 +1,137 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Computes the JVM options of the Web Console and of the Executor from the CPU and memory limits of their container.
+ * Values set in the spec take precedence over the computed ones.
+ */
+public class JvmOptionsConfigurator {
+
+    private static final long MB = 1024 * 1024;
+
+    public enum Workload {
+        // Serves requests, favours pause times
+        WEB,
+        // Runs analyses, favours throughput
+        EXECUTOR
+    }
+
+    private final int maxHeapPercentage;
+    private final String gc;
+    private final int gcThreads;
+    private final int concGcThreads;
+    private final int activeProcessorCount;
+    private final long maxMetaspaceSizeMb;
+    private final String additionalOptions;
+
+    public JvmOptionsConfigurator(Workload workload, WindupSpec.ResourcesLimitSpec resourcesLimitSpec, WindupSpec.JvmSpec jvmSpec) {
+        long memoryMb = Quantity.getAmountInBytes(new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit)
+                .orElse(Constants.WINDUP_MEMORY_LIMIT))).longValue() / MB;
+        int cpus = (int) Math.max(1, Math.ceil(new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit)
+                .orElse(Constants.WINDUP_CPU_LIMIT)).getNumericalAmount().doubleValue()));
+
+        this.maxHeapPercentage = CRDUtils.getValueFromSubSpec(jvmSpec, WindupSpec.JvmSpec::getMaxHeapPercentage)
+                .orElseGet(() -> computeMaxHeapPercentage(memoryMb));
+        this.gc = CRDUtils.getValueFromSubSpec(jvmSpec, WindupSpec.JvmSpec::getGc)
+                .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                .orElseGet(() -> computeGc(workload, cpus));
+        this.gcThreads = CRDUtils.getValueFromSubSpec(jvmSpec, WindupSpec.JvmSpec::getGcThreads)
+                .orElse(cpus);
+        this.concGcThreads = Math.max(1, (gcThreads + 3) / 4);
+        this.activeProcessorCount = cpus;
+        this.maxMetaspaceSizeMb = CRDUtils.getValueFromSubSpec(jvmSpec, WindupSpec.JvmSpec::getMaxMetaspaceSizeMb)
+                .map(Integer::longValue)
+                .orElseGet(() -> Math.max(256, Math.min(1024, memoryMb / 8)));
+        this.additionalOptions = CRDUtils.getValueFromSubSpec(jvmSpec, WindupSpec.JvmSpec::getAdditionalOptions)
+                .orElse(null);
+    }
+
+    /**
+     * Variables understood by the launch scripts of the OpenJDK and EAP images.
+     */
+    public List<EnvVar> getEnvVars() {
+        List<String> javaOpts = new ArrayList<>();
+        javaOpts.add("-XX:ActiveProcessorCount=" + activeProcessorCount);
+        if (!gc.equals("SERIAL")) {
+            javaOpts.add("-XX:ParallelGCThreads=" + gcThreads);
+        }
+        if (gc.equals("G1") || gc.equals("ZGC")) {
+            javaOpts.add("-XX:ConcGCThreads=" + concGcThreads);
+        }
+        if (additionalOptions != null && !additionalOptions.isBlank()) {
+            javaOpts.add(additionalOptions.trim());
+        }
+
+        return List.of(
+                new EnvVarBuilder()
+                        .withName("JAVA_MAX_MEM_RATIO")
+                        .withValue(String.valueOf(maxHeapPercentage))
+                        .build(),
+                new EnvVarBuilder()
+                        .withName("GC_MAX_METASPACE_SIZE")
+                        .withValue(String.valueOf(maxMetaspaceSizeMb))
+                        .build(),
+                new EnvVarBuilder()
+                        .withName("GC_CONTAINER_OPTIONS")
+                        .withValue(getGcOption())
+                        .build(),
+                new EnvVarBuilder()
+                        .withName("JAVA_OPTS_APPEND")
+                        .withValue(String.join(" ", javaOpts))
+                        .build()
+        );
+    }
+
+    public int getMaxHeapPercentage() {
+        return maxHeapPercentage;
+    }
+
+    public String getGc() {
+        return gc;
+    }
+
+    public long getMaxMetaspaceSizeMb() {
+        return maxMetaspaceSizeMb;
+    }
+
+    private String getGcOption() {
+        return switch (gc) {
+            case "SERIAL" -> "-XX:+UseSerialGC";
+            case "PARALLEL" -> "-XX:+UseParallelGC";
+            // Experimental before JDK 15, JDK 8 has no ZGC
+            case "ZGC" -> "-XX:+UnlockExperimentalVMOptions -XX:+UseZGC";
+            default -> "-XX:+UseG1GC";
+        };
+    }
+
+    static int computeMaxHeapPercentage(long memoryMb) {
+        // Small containers need a larger share for metaspace, threads and native memory
+        if (memoryMb <= 1024) {
+            return 50;
+        } else if (memoryMb <= 4096) {
+            return 70;
+        }
+        return 75;
+    }
+
+    /**
+     * ZGC is never computed, the windup-web images run JDK 8 or 11 where it is missing or experimental.
+     * It can still be set in the spec for images with a newer JDK.
+     */
+    static String computeGc(Workload workload, int cpus) {
+        if (cpus < 2) {
+            return "SERIAL";
+        }
+        return workload == Workload.EXECUTOR ? "PARALLEL" : "G1";
+    }
+}
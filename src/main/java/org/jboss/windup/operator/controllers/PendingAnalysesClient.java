@@ -0,0 +1,65 @@
+package org.jboss.windup.operator.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the number of pending analyses from the Web Console.
+ * The response can either be a plain number or the list of executions, in which case
+ * only the executions in one of the pending states are counted. Executions without a state
+ * are finished or malformed records and are not counted.
+ */
+public class PendingAnalysesClient {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Collection<String> pendingStates;
+
+    public PendingAnalysesClient(Duration requestTimeout, Collection<String> pendingStates) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.pendingStates = pendingStates;
+    }
+
+    public int fetchPendingAnalyses(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Accept", "application/json")
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Unexpected status code " + response.statusCode() + " from " + uri);
+        }
+
+        return parsePendingAnalyses(response.body());
+    }
+
+    int parsePendingAnalyses(String body) throws IOException {
+        JsonNode node = objectMapper.readTree(body);
+        if (node.isNumber()) {
+            return node.asInt();
+        }
+        if (node.isArray()) {
+            return (int) StreamSupport.stream(node.spliterator(), false)
+                    .filter(execution -> execution.hasNonNull("state") && pendingStates.contains(execution.get("state").asText()))
+                    .count();
+        }
+
+        throw new IOException("Unexpected pending analyses response: " + body);
+    }
+}
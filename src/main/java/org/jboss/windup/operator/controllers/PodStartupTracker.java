@@ -0,0 +1,100 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time from the creation of the Web Console and Executor pods to their readiness. The status
+ * reports the last pod of each component that became ready, the metric records every pod once.
+ */
+@ApplicationScoped
+public class PodStartupTracker {
+
+    private static final List<String> COMPONENTS = List.of("executor", "web");
+
+    @Inject
+    WindupMetrics metrics;
+
+    private final Map<ResourceID, Set<String>> recordedPods = new ConcurrentHashMap<>();
+
+    public List<WindupStatus.PodStartupStatus> getStatus(Windup cr, Context<Windup> context) {
+        final var startups = context.getSecondaryResources(Pod.class).stream()
+                .map(PodStartupTracker::getPodStartup)
+                .flatMap(Optional::stream)
+                // The pods of the database jobs are watched too
+                .filter(startup -> COMPONENTS.contains(startup.status().getComponent()))
+                .toList();
+
+        recordMetrics(cr, startups);
+
+        return COMPONENTS.stream()
+                .flatMap(component -> startups.stream()
+                        .filter(startup -> component.equals(startup.status().getComponent()))
+                        .max(Comparator.comparing(startup -> startup.status().getReadyAt()))
+                        .map(PodStartup::status)
+                        .stream()
+                )
+                .toList();
+    }
+
+    public void forget(Windup cr) {
+        recordedPods.remove(ResourceID.fromResource(cr));
+    }
+
+    private void recordMetrics(Windup cr, List<PodStartup> startups) {
+        final var recorded = recordedPods.computeIfAbsent(ResourceID.fromResource(cr), id -> ConcurrentHashMap.newKeySet());
+        final var current = startups.stream().map(PodStartup::uid).collect(Collectors.toSet());
+
+        // Forget the deleted pods
+        recorded.retainAll(current);
+        startups.stream()
+                .filter(startup -> recorded.add(startup.uid()))
+                .forEach(startup -> metrics.recordPodTimeToReady(cr, startup.status().getComponent(), Duration.ofSeconds(startup.status().getTimeToReadySeconds())));
+    }
+
+    static Optional<PodStartup> getPodStartup(Pod pod) {
+        final var component = Optional.ofNullable(pod.getMetadata().getLabels())
+                .map(labels -> labels.get("component"));
+        final var readyAt = Optional.ofNullable(pod.getStatus())
+                .map(status -> status.getConditions())
+                .orElse(List.of())
+                .stream()
+                .filter(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()))
+                .map(PodCondition::getLastTransitionTime)
+                .findFirst();
+        final var createdAt = pod.getMetadata().getCreationTimestamp();
+
+        if (component.isEmpty() || readyAt.isEmpty() || createdAt == null) {
+            return Optional.empty();
+        }
+
+        final var timeToReady = Duration.between(Instant.parse(createdAt), Instant.parse(readyAt.get()));
+        return Optional.of(new PodStartup(pod.getMetadata().getUid(), WindupStatus.PodStartupStatus.builder()
+                .component(component.get())
+                .pod(pod.getMetadata().getName())
+                .createdAt(createdAt)
+                .readyAt(readyAt.get())
+                .timeToReadySeconds(timeToReady.toSeconds())
+                .build()
+        ));
+    }
+
+    record PodStartup(String uid, WindupStatus.PodStartupStatus status) {
+    }
+}
@@ -0,0 +1,107 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.ExecutorHorizontalPodAutoscaler;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.utils.CRDUtils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the PostgreSQL settings from the CPU and memory limits of the database, the size of its volume
+ * and the number of executors. Parameters set in the spec take precedence over the computed ones.
+ */
+public class PostgreSQLConfigurator {
+
+    private static final long MB = 1024 * 1024;
+
+    private final Map<String, String> parameters;
+
+    public PostgreSQLConfigurator(Windup cr) {
+        WindupSpec.DatabaseSpec databaseSpec = cr.getSpec().getDatabaseSpec();
+        WindupSpec.ResourcesLimitSpec resourcesLimitSpec = CRDUtils.getValueFromSubSpec(databaseSpec, WindupSpec.DatabaseSpec::getResourceLimitSpec)
+                .orElse(null);
+
+        long memoryMb = Quantity.getAmountInBytes(new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getMemoryLimit)
+                .orElse(Constants.POSTGRESQL_MEMORY_LIMIT))).longValue() / MB;
+        int cpus = (int) Math.max(1, Math.ceil(new Quantity(CRDUtils.getValueFromSubSpec(resourcesLimitSpec, WindupSpec.ResourcesLimitSpec::getCpuLimit)
+                .orElse(Constants.POSTGRESQL_CPU_LIMIT)).getNumericalAmount().doubleValue()));
+
+        long volumeMb = Quantity.getAmountInBytes(new Quantity(CRDUtils.getValueFromSubSpec(databaseSpec, WindupSpec.DatabaseSpec::getSize)
+                .orElse(Constants.POSTGRESQL_PVC_SIZE))).longValue() / MB;
+
+        this.parameters = new TreeMap<>(computeParameters(memoryMb, cpus, volumeMb, getMaxExecutorInstances(cr)));
+        CRDUtils.getValueFromSubSpec(databaseSpec, WindupSpec.DatabaseSpec::getParameters)
+                .ifPresent(parameters::putAll);
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public String getMaxConnections() {
+        return parameters.get("max_connections");
+    }
+
+    public String getMaxPreparedTransactions() {
+        return parameters.get("max_prepared_transactions");
+    }
+
+    /**
+     * Content of the file included at the end of postgresql.conf
+     */
+    public String getConfigFile() {
+        return parameters.entrySet().stream()
+                .map(entry -> entry.getKey() + " = '" + entry.getValue().replace("'", "''") + "'")
+                .collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    static Map<String, String> computeParameters(long memoryMb, int cpus, long volumeMb, int executors) {
+        // The Web Console keeps a pool of connections and each executor adds to the load going through it.
+        // Never below 200, the value set by the previous versions of the operator
+        int maxConnections = (int) Math.min(500, Math.max(200, 50 + 20L * executors));
+
+        long sharedBuffersMb = Math.max(32, memoryMb / 4);
+        long effectiveCacheSizeMb = Math.max(64, memoryMb * 3 / 4);
+        long maintenanceWorkMemMb = Math.max(16, Math.min(2048, memoryMb / 16));
+        long workMemMb = Math.max(4, (memoryMb - sharedBuffersMb) / (maxConnections * 3L));
+        long walBuffersMb = Math.max(1, Math.min(16, sharedBuffersMb / 32));
+        // The WAL shares the volume with the data, PostgreSQL stops when it fills it. 32MB is two WAL segments, the minimum
+        long maxWalSizeMb = Math.max(32, Math.min(4096, volumeMb / 4));
+        long minWalSizeMb = Math.max(32, Math.min(1024, volumeMb / 16));
+
+        return Map.ofEntries(
+                Map.entry("max_connections", String.valueOf(maxConnections)),
+                Map.entry("max_prepared_transactions", String.valueOf(maxConnections)),
+                Map.entry("shared_buffers", sharedBuffersMb + "MB"),
+                Map.entry("effective_cache_size", effectiveCacheSizeMb + "MB"),
+                Map.entry("maintenance_work_mem", maintenanceWorkMemMb + "MB"),
+                Map.entry("work_mem", workMemMb + "MB"),
+                Map.entry("wal_buffers", walBuffersMb + "MB"),
+                Map.entry("min_wal_size", minWalSizeMb + "MB"),
+                Map.entry("max_wal_size", maxWalSizeMb + "MB"),
+                Map.entry("checkpoint_completion_target", "0.9"),
+                Map.entry("checkpoint_timeout", "15min"),
+                Map.entry("random_page_cost", "1.1"),
+                Map.entry("max_worker_processes", String.valueOf(Math.max(8, cpus))),
+                Map.entry("max_parallel_workers", String.valueOf(cpus)),
+                Map.entry("max_parallel_workers_per_gather", String.valueOf(Math.max(1, cpus / 2)))
+        );
+    }
+
+    private static int getMaxExecutorInstances(Windup cr) {
+        if (ExecutorHorizontalPodAutoscaler.isEnabled(cr)) {
+            return CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorHorizontalPodAutoscalerSpec(), WindupSpec.ExecutorHorizontalPodAutoscalerSpec::getMaxReplicas)
+                    .orElse(Constants.EXECUTOR_HPA_MAX_REPLICAS);
+        }
+        if (CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorAutoscalingSpec(), WindupSpec.ExecutorAutoscalingSpec::isEnabled).orElse(false)) {
+            return CRDUtils.getValueFromSubSpec(cr.getSpec().getExecutorAutoscalingSpec(), WindupSpec.ExecutorAutoscalingSpec::getMaxInstances)
+                    .orElse(Constants.EXECUTOR_AUTOSCALING_MAX_INSTANCES);
+        }
+        return cr.getSpec().getExecutorInstances();
+    }
+}
@@ -0,0 +1,69 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the time from the first event of a Windup, or of its dependents, to the start of the reconcile
+ * handling it: waiting for a worker thread, the rate limiter or a running reconcile of the same Windup.
+ * Events are seen by the {@link ShardFilter}, which the SDK instantiates, hence the shared instance.
+ */
+public class QueueWaitTracker {
+
+    private static final QueueWaitTracker INSTANCE = new QueueWaitTracker();
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<ResourceID, Instant> pendingSince = new ConcurrentHashMap<>();
+    private final Map<ResourceID, Long> reconciledGenerations = new ConcurrentHashMap<>();
+
+    public static QueueWaitTracker getInstance() {
+        return INSTANCE;
+    }
+
+    public void onEvent(HasMetadata resource) {
+        final var namespace = resource.getMetadata().getNamespace();
+        if (resource instanceof Windup) {
+            // Status updates, e.g. the ones written by the reconciler, do not trigger a reconcile
+            final var resourceID = new ResourceID(resource.getMetadata().getName(), namespace);
+            if (!Objects.equals(reconciledGenerations.get(resourceID), getGeneration(resource))) {
+                pendingSince.putIfAbsent(resourceID, clock.instant());
+            }
+            return;
+        }
+
+        Optional.ofNullable(resource.getMetadata().getLabels())
+                .map(labels -> labels.get(Constants.PART_OF_LABEL))
+                .ifPresent(name -> pendingSince.putIfAbsent(new ResourceID(name, namespace), clock.instant()));
+    }
+
+    /**
+     * Empty for the reconciles not triggered by an event, e.g. rescheduled ones.
+     */
+    public Optional<Duration> onReconcileStart(Windup cr) {
+        final var resourceID = ResourceID.fromResource(cr);
+        reconciledGenerations.put(resourceID, getGeneration(cr));
+        return Optional.ofNullable(pendingSince.remove(resourceID))
+                .map(since -> Duration.between(since, clock.instant()));
+    }
+
+    public void forget(Windup cr) {
+        final var resourceID = ResourceID.fromResource(cr);
+        pendingSince.remove(resourceID);
+        reconciledGenerations.remove(resourceID);
+    }
+
+    private static long getGeneration(HasMetadata resource) {
+        return Objects.requireNonNullElse(resource.getMetadata().getGeneration(), 0L);
+    }
+}
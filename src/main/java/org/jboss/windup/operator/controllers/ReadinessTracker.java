@@ -0,0 +1,52 @@
+package org.jboss.windup.operator.controllers;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.windup.operator.ReconcileConfig;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the reconciles needed for the dependents of a Windup to become ready, and computes the fallback
+ * reschedule delay while they are not. The delay grows exponentially up to the configured maximum since
+ * the readiness changes of the dependents already trigger a reconcile through their informers.
+ */
+@ApplicationScoped
+public class ReadinessTracker {
+
+    @Inject
+    ReconcileConfig config;
+
+    @Inject
+    WindupMetrics metrics;
+
+    private final Map<ResourceID, Integer> notReadyReconciles = new ConcurrentHashMap<>();
+
+    public Duration onNotReady(Windup cr) {
+        int reconciles = notReadyReconciles.merge(ResourceID.fromResource(cr), 1, Integer::sum);
+        return getBackoff(reconciles);
+    }
+
+    public void onReady(Windup cr) {
+        Integer reconciles = notReadyReconciles.remove(ResourceID.fromResource(cr));
+        if (reconciles != null) {
+            // Including the current one
+            metrics.recordReconcilesToReady(cr, reconciles + 1);
+        }
+    }
+
+    public void forget(Windup cr) {
+        notReadyReconciles.remove(ResourceID.fromResource(cr));
+    }
+
+    Duration getBackoff(int reconciles) {
+        double factor = Math.pow(config.readinessBackoffMultiplier(), Math.max(0, reconciles - 1));
+        long maxMillis = config.readinessMaxBackoff().toMillis();
+        long millis = (long) Math.min(maxMillis, config.readinessInitialBackoff().toMillis() * factor);
+        return Duration.ofMillis(millis);
+    }
+}
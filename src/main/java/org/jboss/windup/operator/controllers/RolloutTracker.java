@@ -0,0 +1,132 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Follows the rollouts of the Web Console and Executor Deployments. A rollout starts when the generation of the
+ * Deployment changes and completes when all its replicas are updated and available. The start time is kept in
+ * the status of the Windup so the duration survives a restart of the operator.
+ */
+@ApplicationScoped
+public class RolloutTracker {
+
+    public static final String STATE_PROGRESSING = "Progressing";
+    public static final String STATE_COMPLETE = "Complete";
+    public static final String STATE_FAILED = "Failed";
+
+    private static final Map<String, String> DEPENDENTS = Map.of(
+            "web", "web-deployment",
+            "executor", "executor-deployment"
+    );
+
+    @Inject
+    WindupMetrics metrics;
+
+    Clock clock = Clock.systemUTC();
+
+    public List<WindupStatus.RolloutStatus> getStatus(Windup cr, Context<Windup> context) {
+        final var previous = Optional.ofNullable(cr.getStatus())
+                .map(WindupStatus::getRollouts)
+                .orElse(List.of())
+                .stream()
+                .collect(Collectors.toMap(WindupStatus.RolloutStatus::getComponent, Function.identity(), (a, b) -> b));
+
+        return DEPENDENTS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .flatMap(entry -> context.getSecondaryResource(Deployment.class, entry.getValue())
+                        .map(deployment -> {
+                            final var rollout = next(entry.getKey(), deployment, previous.get(entry.getKey()), clock.instant());
+                            if (isCompletedNow(rollout, previous.get(entry.getKey()))) {
+                                metrics.recordRolloutDuration(cr, rollout);
+                            }
+                            return rollout;
+                        })
+                        .stream()
+                )
+                .toList();
+    }
+
+    WindupStatus.RolloutStatus next(String component, Deployment deployment, WindupStatus.RolloutStatus previous, Instant now) {
+        final var generation = deployment.getMetadata().getGeneration();
+        final var sameRollout = previous != null && Objects.equals(previous.getGeneration(), generation);
+
+        String startedAt;
+        if (sameRollout) {
+            startedAt = previous.getStartedAt();
+        } else if (previous == null && Objects.equals(generation, 1L)) {
+            // First revision of the Deployment
+            startedAt = deployment.getMetadata().getCreationTimestamp();
+        } else if (previous == null) {
+            // Started before the operator tracked it
+            startedAt = null;
+        } else {
+            startedAt = now.toString();
+        }
+
+        final var status = Optional.ofNullable(deployment.getStatus()).orElseGet(DeploymentStatus::new);
+        final int desiredReplicas = Optional.ofNullable(deployment.getSpec().getReplicas()).orElse(1);
+        final int replicas = Optional.ofNullable(status.getReplicas()).orElse(0);
+        final int updatedReplicas = Optional.ofNullable(status.getUpdatedReplicas()).orElse(0);
+        final int availableReplicas = Optional.ofNullable(status.getAvailableReplicas()).orElse(0);
+        final var observed = status.getObservedGeneration() != null && generation != null && status.getObservedGeneration() >= generation;
+
+        final var failed = Optional.ofNullable(status.getConditions()).orElse(List.of()).stream()
+                .filter(condition -> "Progressing".equals(condition.getType()))
+                .map(DeploymentCondition::getReason)
+                .anyMatch("ProgressDeadlineExceeded"::equals);
+        final var complete = observed && updatedReplicas == desiredReplicas && availableReplicas == desiredReplicas && replicas == desiredReplicas;
+
+        String state = failed ? STATE_FAILED : complete ? STATE_COMPLETE : STATE_PROGRESSING;
+
+        String completedAt = null;
+        if (complete) {
+            completedAt = sameRollout && STATE_COMPLETE.equals(previous.getState()) ? previous.getCompletedAt() : now.toString();
+        }
+
+        // Only set once complete, so the status does not change at every reconcile of a progressing rollout
+        Long durationSeconds = null;
+        if (startedAt != null && completedAt != null) {
+            durationSeconds = Duration.between(Instant.parse(startedAt), Instant.parse(completedAt)).toSeconds();
+        }
+
+        return WindupStatus.RolloutStatus.builder()
+                .component(component)
+                .deployment(deployment.getMetadata().getName())
+                .strategy(Optional.ofNullable(deployment.getSpec().getStrategy()).map(strategy -> strategy.getType()).orElse(null))
+                .generation(generation)
+                .state(state)
+                .replicas(desiredReplicas)
+                .updatedReplicas(updatedReplicas)
+                .availableReplicas(availableReplicas)
+                .startedAt(startedAt)
+                .completedAt(completedAt)
+                .durationSeconds(durationSeconds)
+                .build();
+    }
+
+    private static boolean isCompletedNow(WindupStatus.RolloutStatus rollout, WindupStatus.RolloutStatus previous) {
+        if (!STATE_COMPLETE.equals(rollout.getState()) || rollout.getDurationSeconds() == null) {
+            return false;
+        }
+        return previous == null
+                || !Objects.equals(previous.getGeneration(), rollout.getGeneration())
+                || !STATE_COMPLETE.equals(previous.getState());
+    }
+}
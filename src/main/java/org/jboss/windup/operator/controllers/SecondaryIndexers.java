@@ -0,0 +1,68 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.PrimaryToSecondaryMapper;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Indexes of the informers shared by all the Windup instances, keyed on the UID of the owners and on the
+ * part-of label. The secondary resources of a Windup are read from them, so the cost of a lookup does not
+ * grow with the number of objects cached.
+ */
+public final class SecondaryIndexers {
+
+    public static final String OWNER_UID_INDEX = "windup-owner-uid";
+    public static final String PART_OF_INDEX = "windup-part-of";
+
+    private SecondaryIndexers() {
+    }
+
+    public static <R extends HasMetadata> void addTo(InformerEventSource<R, Windup> informer) {
+        informer.addIndexers(Map.of(
+                OWNER_UID_INDEX, SecondaryIndexers::ownerUids,
+                PART_OF_INDEX, SecondaryIndexers::partOf
+        ));
+    }
+
+    /**
+     * The informer is only known once created from the configuration holding the mapper.
+     */
+    public static <R extends HasMetadata> PrimaryToSecondaryMapper<Windup> primaryToSecondary(Supplier<InformerEventSource<R, Windup>> informer) {
+        return primary -> Stream
+                .concat(
+                        informer.get().byIndex(OWNER_UID_INDEX, primary.getMetadata().getUid()).stream(),
+                        informer.get().byIndex(PART_OF_INDEX, partOfKey(primary.getMetadata().getNamespace(), primary.getMetadata().getName())).stream()
+                )
+                .map(ResourceID::fromResource)
+                .collect(Collectors.toSet());
+    }
+
+    static List<String> ownerUids(HasMetadata resource) {
+        return resource.getMetadata().getOwnerReferences().stream()
+                .filter(ownerReference -> Windup.class.getSimpleName().equals(ownerReference.getKind()))
+                .map(OwnerReference::getUid)
+                .toList();
+    }
+
+    static List<String> partOf(HasMetadata resource) {
+        return Optional.ofNullable(resource.getMetadata().getLabels())
+                .map(labels -> labels.get(Constants.PART_OF_LABEL))
+                .map(name -> List.of(partOfKey(resource.getMetadata().getNamespace(), name)))
+                .orElse(List.of());
+    }
+
+    static String partOfKey(String namespace, String name) {
+        return namespace + "/" + name;
+    }
+}
@@ -0,0 +1,100 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.processing.event.source.filter.GenericFilter;
+import io.quarkus.logging.Log;
+import io.smallrye.config.SmallRyeConfig;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.ShardingConfig;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Only lets through the events of the Windup instances, and of their dependents, owned by the shard of this
+ * operator replica. A Windup is assigned to a shard by hashing its namespace/name.
+ * The events let through are reported to the {@link QueueWaitTracker}.
+ */
+public class ShardFilter implements GenericFilter<HasMetadata> {
+
+    private static final Pattern STATEFULSET_ORDINAL = Pattern.compile(".*-(\\d+)$");
+
+    private static volatile Shard shard;
+
+    @Override
+    public boolean accept(HasMetadata resource) {
+        if (!getShard().owns(resource)) {
+            return false;
+        }
+        QueueWaitTracker.getInstance().onEvent(resource);
+        return true;
+    }
+
+    public static Shard getShard() {
+        if (shard == null) {
+            synchronized (ShardFilter.class) {
+                if (shard == null) {
+                    ShardingConfig config = ConfigProvider.getConfig()
+                            .unwrap(SmallRyeConfig.class)
+                            .getConfigMapping(ShardingConfig.class);
+                    shard = Shard.of(config, System.getenv("STATEFULSET_POD_NAME"));
+                    Log.infof("Handling shard %d of %d", shard.index(), shard.count());
+                }
+            }
+        }
+        return shard;
+    }
+
+    public record Shard(int index, int count) {
+
+        /**
+         * The index is only read from the pod name when the replicas run as a StatefulSet, the random suffix of
+         * the pods of a Deployment can be all digits.
+         *
+         * @param statefulSetPodName the statefulset.kubernetes.io/pod-name label of the pod, if any
+         */
+        static Shard of(ShardingConfig config, String statefulSetPodName) {
+            int count = Math.max(1, config.count());
+            if (count == 1) {
+                return new Shard(0, 1);
+            }
+
+            int index = config.index()
+                    .or(() -> Optional.ofNullable(statefulSetPodName)
+                            .map(STATEFULSET_ORDINAL::matcher)
+                            .filter(Matcher::matches)
+                            .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    )
+                    .orElseThrow(() -> new IllegalStateException("There are " + count + " shards, set windup.sharding.index or run the operator as a StatefulSet"));
+            if (index < 0 || index >= count) {
+                throw new IllegalStateException("Shard index " + index + " is out of range, there are " + count + " shards");
+            }
+            return new Shard(index, count);
+        }
+
+        public boolean owns(HasMetadata resource) {
+            if (count == 1) {
+                return true;
+            }
+
+            // Dependents are assigned to the shard of the Windup they are part of
+            String name = resource instanceof Windup
+                    ? resource.getMetadata().getName()
+                    : Optional.ofNullable(resource.getMetadata().getLabels())
+                    .map(labels -> labels.get(Constants.PART_OF_LABEL))
+                    .orElse(null);
+            if (name == null) {
+                return true;
+            }
+            return getShard(resource.getMetadata().getNamespace(), name, count) == index;
+        }
+
+        static int getShard(String namespace, String name, int count) {
+            // String.hashCode is specified, so all the replicas agree on the shard
+            return Math.floorMod((namespace + "/" + name).hashCode(), count);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.quarkus.logging.Log;
+import org.jboss.windup.operator.ReconcileConfig;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * StorageClasses of the cluster, listed at most once per TTL and shared by all the PVC dependents.
+ * A claim without StorageClass resolves to the default one.
+ */
+@ApplicationScoped
+public class StorageClassCache {
+
+    static final String DEFAULT_CLASS_ANNOTATION = "storageclass.kubernetes.io/is-default-class";
+    static final String BETA_DEFAULT_CLASS_ANNOTATION = "storageclass.beta.kubernetes.io/is-default-class";
+
+    @Inject
+    KubernetesClient k8sClient;
+
+    @Inject
+    ReconcileConfig config;
+
+    Clock clock = Clock.systemUTC();
+
+    private List<StorageClass> storageClasses;
+    private Instant expiresAt;
+
+    /**
+     * @param storageClassName the StorageClass of the claim, null for the default one
+     * @param onApiCall        called when the StorageClasses are listed from the API server
+     */
+    public boolean allowsVolumeExpansion(String storageClassName, Runnable onApiCall) {
+        return find(getStorageClasses(onApiCall), storageClassName)
+                .map(storageClass -> Objects.equals(storageClass.getAllowVolumeExpansion(), Boolean.TRUE))
+                .orElse(false);
+    }
+
+    private synchronized List<StorageClass> getStorageClasses(Runnable onApiCall) {
+        Instant now = clock.instant();
+        if (storageClasses != null && expiresAt.isAfter(now)) {
+            return storageClasses;
+        }
+
+        onApiCall.run();
+        try {
+            storageClasses = k8sClient.storage().v1().storageClasses().list().getItems();
+        } catch (KubernetesClientException e) {
+            Log.warnf("Could not list the StorageClasses, they will be read again in %s: %s", config.storageClassCacheTtl(), e.getMessage());
+            storageClasses = List.of();
+        }
+        expiresAt = now.plus(config.storageClassCacheTtl());
+        return storageClasses;
+    }
+
+    static Optional<StorageClass> find(List<StorageClass> storageClasses, String storageClassName) {
+        if (storageClassName != null) {
+            return storageClasses.stream()
+                    .filter(storageClass -> storageClassName.equals(storageClass.getMetadata().getName()))
+                    .findFirst();
+        }
+        return storageClasses.stream()
+                .filter(StorageClassCache::isDefault)
+                .findFirst();
+    }
+
+    private static boolean isDefault(StorageClass storageClass) {
+        Map<String, String> annotations = Optional.ofNullable(storageClass.getMetadata().getAnnotations()).orElse(Map.of());
+        return "true".equals(annotations.get(DEFAULT_CLASS_ANNOTATION)) || "true".equals(annotations.get(BETA_DEFAULT_CLASS_ANNOTATION));
+    }
+}
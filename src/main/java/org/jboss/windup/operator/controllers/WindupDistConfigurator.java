@@ -11,17 +11,23 @@ import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.quarkus.logging.Log;
 import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBPoolerDeployment;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBPoolerService;
 import org.jboss.windup.operator.cdrs.v2alpha1.DBSecret;
 import org.jboss.windup.operator.cdrs.v2alpha1.WebConsolePersistentVolumeClaim;
+import org.jboss.windup.operator.cdrs.v2alpha1.WebPingService;
 import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
 import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.utils.CRDUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class WindupDistConfigurator {
 
@@ -38,6 +44,7 @@ public class WindupDistConfigurator {
         this.allVolumeMounts = new ArrayList<>();
 
         configureDefaults();
+        configureJvm();
         configureDatabase();
         configureDataDirectory();
         configureSSO();
@@ -62,18 +69,27 @@ public class WindupDistConfigurator {
                 .mapOption("IS_MASTER", spec -> "true")
                 .mapOption("MESSAGING_SERIALIZER", spec -> "http.post.serializer")
                 .mapOption("AUTO_DEPLOY_EXPLODED", spec -> "false")
-                .mapOption("GC_MAX_METASPACE_SIZE", spec -> "512")
                 .mapOption("MAX_POST_SIZE", spec -> "4294967296")
                 .mapOption("SSO_DISABLE_SSL_CERTIFICATE_VALIDATION", spec -> "true")
                 .mapOption("SSO_FORCE_LEGACY_SECURITY", spec -> "false")
                 // Optional additional ENV
-                .mapOption("OPENSHIFT_KUBE_PING_LABELS", spec -> "application=" + cr.getMetadata().getName())
+                .mapOption("OPENSHIFT_KUBE_PING_LABELS", spec -> getKubePingLabels())
                 .mapOption("OPENSHIFT_KUBE_PING_NAMESPACE", spec -> cr.getMetadata().getNamespace())
                 .getEnvVars();
 
         allEnvVars.addAll(envVars);
     }
 
+    private void configureJvm() {
+        JvmOptionsConfigurator jvmOptionsConfigurator = new JvmOptionsConfigurator(
+                JvmOptionsConfigurator.Workload.WEB,
+                cr.getSpec().getWebResourceLimitSpec(),
+                cr.getSpec().getWebJvmSpec()
+        );
+
+        allEnvVars.addAll(jvmOptionsConfigurator.getEnvVars());
+    }
+
     private void configureDatabase() {
         String dbSecretName = DBSecret.getSecretName(cr);
 
@@ -84,6 +100,20 @@ public class WindupDistConfigurator {
                 .getEnvVars();
 
         allEnvVars.addAll(envVars);
+
+        if (DBPoolerDeployment.isEnabled(cr)) {
+            // Connect through the pooler, the datasource is mapped from the <SERVICE>_SERVICE_HOST/PORT variables
+            String poolerServiceName = DBPoolerService.getServiceName(cr);
+            String poolerServiceEnvPrefix = poolerServiceName.toUpperCase().replace('-', '_');
+
+            List<EnvVar> poolerEnvVars = optionMapper(cr.getSpec())
+                    .mapOption("DB_SERVICE_PREFIX_MAPPING", poolerServiceName + "=DB")
+                    .mapOption(poolerServiceEnvPrefix + "_SERVICE_HOST", poolerServiceName)
+                    .mapOption(poolerServiceEnvPrefix + "_SERVICE_PORT", String.valueOf(Constants.DB_POOLER_PORT))
+                    .getEnvVars();
+
+            allEnvVars.addAll(poolerEnvVars);
+        }
     }
 
     private void configureDataDirectory() {
@@ -128,6 +158,16 @@ public class WindupDistConfigurator {
     }
 
     private void configureJGroups() {
+        List<EnvVar> pingEnvVars = optionMapper(cr.getSpec())
+                .mapOption("JGROUPS_PING_PROTOCOL", spec -> CRDUtils.getValueFromSubSpec(spec.getJgroupsSpec(), WindupSpec.JGroupsSpec::getPingProtocol)
+                        .orElse(Constants.JGROUPS_PING_PROTOCOL)
+                )
+                .mapOption("OPENSHIFT_DNS_PING_SERVICE_NAME", spec -> WebPingService.getServiceName(cr))
+                .mapOption("OPENSHIFT_DNS_PING_SERVICE_PORT", spec -> Constants.JGROUPS_PING_PORT)
+                .getEnvVars();
+
+        allEnvVars.addAll(pingEnvVars);
+
         List<EnvVar> envVars = optionMapper(cr.getSpec().getJgroupsSpec())
                 .mapOption("JGROUPS_ENCRYPT_SECRET", WindupSpec.JGroupsSpec::getEncryptSecret)
                 .mapOption("JGROUPS_ENCRYPT_KEYSTORE_DIR", "/etc/jgroups-encrypt-secret-volume")
@@ -140,6 +180,15 @@ public class WindupDistConfigurator {
         allEnvVars.addAll(envVars);
     }
 
+    private String getKubePingLabels() {
+        return Stream.concat(
+                        Constants.WEB_SELECTOR_LABELS.entrySet().stream(),
+                        Stream.of(Map.entry(Constants.PART_OF_LABEL, cr.getMetadata().getName()))
+                )
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
     private <T> OptionMapper<T> optionMapper(T optionSpec) {
         return new OptionMapper<>(optionSpec);
     }
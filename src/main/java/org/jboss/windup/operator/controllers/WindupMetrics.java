@@ -0,0 +1,212 @@
+package org.jboss.windup.operator.controllers;
+
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ApplicationScoped
+public class WindupMetrics {
+
+    public static final String PREFIX = "windup.operator.";
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<ResourceID, AtomicInteger> reconcilesToReady = new ConcurrentHashMap<>();
+
+    public void registerInformerCacheSize(String informerName, InformerEventSource<?, ?> informer) {
+        Gauge.builder(PREFIX + "informer.cache.size", informer, i -> i.keys().count())
+                .description("Number of objects cached by the informer")
+                .tag("informer", informerName)
+                .register(registry);
+    }
+
+    public void registerShardLoad(ShardFilter.Shard shard, IndexerResourceCache<Windup> primaryCache) {
+        Gauge.builder(PREFIX + "shard.windups", primaryCache, cache -> cache.list().filter(shard::owns).count())
+                .description("Number of Windup instances handled by this shard")
+                .tag("shard", String.valueOf(shard.index()))
+                .tag("shards", String.valueOf(shard.count()))
+                .register(registry);
+        Gauge.builder(PREFIX + "shard.watched.windups", primaryCache, cache -> cache.list().count())
+                .description("Number of Windup instances in the watched namespaces, all shards included")
+                .tag("shard", String.valueOf(shard.index()))
+                .tag("shards", String.valueOf(shard.count()))
+                .register(registry);
+    }
+
+    public void dependentUpdate(String dependentName, String outcome) {
+        Counter.builder(PREFIX + "dependent.updates")
+                .description("Updates of dependent resources, applied or skipped because the desired spec did not change")
+                .tag("dependent", dependentName)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void clusterDomainCache(String result) {
+        Counter.builder(PREFIX + "cluster.domain.cache")
+                .description("Reads of the cluster domain, served from the cache (hit) or from the API server (miss)")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordReconcilesToReady(Windup cr, int reconciles) {
+        reconcilesToReady.computeIfAbsent(ResourceID.fromResource(cr), resourceID -> {
+            final var value = new AtomicInteger();
+            Gauge.builder(PREFIX + "reconciles.to.ready", value, AtomicInteger::get)
+                    .description("Number of reconciles the last time the dependents of the Windup became ready")
+                    .tag("name", cr.getMetadata().getName())
+                    .tag("namespace", cr.getMetadata().getNamespace())
+                    .register(registry);
+            return value;
+        }).set(reconciles);
+
+        DistributionSummary.builder(PREFIX + "reconciles.to.ready.distribution")
+                .description("Number of reconciles needed for the dependents of a Windup to become ready")
+                .register(registry)
+                .record(reconciles);
+    }
+
+    /**
+     * Removes the meters tagged with a deleted Windup, they would otherwise be exported until the operator restarts.
+     */
+    public void forget(Windup cr) {
+        reconcilesToReady.remove(ResourceID.fromResource(cr));
+        registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(PREFIX))
+                .filter(meter -> cr.getMetadata().getName().equals(meter.getId().getTag("name"))
+                        && cr.getMetadata().getNamespace().equals(meter.getId().getTag("namespace")))
+                .forEach(registry::remove);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void recordWorkflowReconcile(Windup cr, long startNanos) {
+        Timer.builder(PREFIX + "reconcile")
+                .description("Time spent reconciling a Windup, dependents included")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDependentReconcile(Windup cr, String dependentName, Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder(PREFIX + "dependent.reconcile")
+                .description("Time spent reconciling a dependent resource, by outcome: create, update, noop or error")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("dependent", dependentName)
+                .tag("outcome", outcome)
+                .register(registry)
+        );
+    }
+
+    public void recordApiCall(Windup cr, String dependentName, String verb) {
+        Counter.builder(PREFIX + "api.calls")
+                .description("Kubernetes API calls issued by the dependent resources")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("dependent", dependentName)
+                .tag("verb", verb)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordApiCallsPerReconcile(Windup cr, int apiCalls) {
+        DistributionSummary.builder(PREFIX + "api.calls.per.reconcile")
+                .description("Kubernetes API calls issued by the dependent resources in a single reconcile")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .register(registry)
+                .record(apiCalls);
+    }
+
+    public void recordRolloutDuration(Windup cr, WindupStatus.RolloutStatus rollout) {
+        Timer.builder(PREFIX + "rollout.duration")
+                .description("Time from the change of a Deployment to all its replicas updated and available")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("component", rollout.getComponent())
+                .tag("strategy", String.valueOf(rollout.getStrategy()))
+                .register(registry)
+                .record(rollout.getDurationSeconds(), TimeUnit.SECONDS);
+    }
+
+    public void recordPodTimeToReady(Windup cr, String component, Duration timeToReady) {
+        Timer.builder(PREFIX + "pod.time.to.ready")
+                .description("Time from the creation of a Web Console or Executor pod to its readiness")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("component", component)
+                .register(registry)
+                .record(timeToReady);
+    }
+
+    public void recordWritePayload(String dependentName, String mode, int bytes) {
+        DistributionSummary.builder(PREFIX + "write.payload")
+                .description("Size of the writes of the dependent resources, 'apply' as sent and 'replace' as a replace of the same desired state would have sent")
+                .baseUnit("bytes")
+                .tag("dependent", dependentName)
+                .tag("mode", mode)
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void recordComponentTimeToReady(Windup cr, String condition, Duration timeToReady) {
+        Timer.builder(PREFIX + "component.time.to.ready")
+                .description("Time a component of a Windup took to become ready again, by readiness condition")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("condition", condition)
+                .register(registry)
+                .record(timeToReady);
+    }
+
+    public void recordQueueWait(Windup cr, Duration queueWait) {
+        Timer.builder(PREFIX + "reconcile.queue.wait")
+                .description("Time from an event of a Windup or of its dependents to the start of its reconcile")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .register(registry)
+                .record(queueWait);
+    }
+
+    public void recordDatabaseDump(Windup cr, String component, Duration duration, Long sizeBytes) {
+        Timer.builder(PREFIX + "database.dump.duration")
+                .description("Duration of the backups and restores of the database, by component: db-backup or db-restore")
+                .tag("name", cr.getMetadata().getName())
+                .tag("namespace", cr.getMetadata().getNamespace())
+                .tag("component", component)
+                .register(registry)
+                .record(duration);
+        if (sizeBytes != null) {
+            DistributionSummary.builder(PREFIX + "database.dump.size")
+                    .description("Size of the dumps written by the backups and read by the restores of the database")
+                    .baseUnit("bytes")
+                    .tag("name", cr.getMetadata().getName())
+                    .tag("namespace", cr.getMetadata().getNamespace())
+                    .tag("component", component)
+                    .register(registry)
+                    .record(sizeBytes);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.jboss.windup.operator.controllers;
+
+import io.javaoperatorsdk.operator.processing.event.rate.LinearRateLimiter;
+import io.smallrye.config.SmallRyeConfig;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.windup.operator.ReconcileConfig;
+
+/**
+ * Limits the reconciles of each Windup to windup.reconcile.rate-limit-max-reconciliations per
+ * windup.reconcile.rate-limit-period, so a burst of pod events does not monopolize the worker threads.
+ */
+public class WindupRateLimiter extends LinearRateLimiter {
+
+    public WindupRateLimiter() {
+        this(ConfigProvider.getConfig()
+                .unwrap(SmallRyeConfig.class)
+                .getConfigMapping(ReconcileConfig.class)
+        );
+    }
+
+    WindupRateLimiter(ReconcileConfig config) {
+        super(config.rateLimitPeriod(), config.rateLimitMaxReconciliations());
+    }
+}
@@ -1,6 +1,8 @@
 package org.jboss.windup.operator.controllers;
 
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
@@ -9,29 +11,51 @@ import io.javaoperatorsdk.operator.api.reconciler.*;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.Dependent;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.javaoperatorsdk.operator.processing.event.source.informer.Mappers;
 import org.jboss.logging.Logger;
 import org.jboss.windup.operator.Constants;
 import org.jboss.windup.operator.cdrs.v2alpha1.*;
 
+import javax.inject.Inject;
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.Map;
-
-import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT_NAMESPACE;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 @ControllerConfiguration(
-        namespaces = WATCH_CURRENT_NAMESPACE,
         name = "windup",
+        genericFilter = ShardFilter.class,
+        rateLimiter = WindupRateLimiter.class,
         dependents = {
                 @Dependent(name = "db-pvc", type = DBPersistentVolumeClaim.class),
                 @Dependent(name = "db-secret", type = DBSecret.class),
-                @Dependent(name = "db-deployment", type = DBDeployment.class, dependsOn = {"db-pvc", "db-secret"}, readyPostcondition = DBDeployment.class),
+                @Dependent(name = "db-configmap", type = DBConfigMap.class),
+                @Dependent(name = "db-deployment", type = DBDeployment.class, dependsOn = {"db-pvc", "db-secret", "db-configmap"}, readyPostcondition = DBDeployment.class),
                 @Dependent(name = "db-service", type = DBService.class, dependsOn = {"db-deployment"}),
 
+                // Optional, the Web Console does not depend on them since dependents of an unmet precondition are deleted
+                @Dependent(name = "db-pooler-deployment", type = DBPoolerDeployment.class, dependsOn = {"db-service"}, reconcilePrecondition = DBPoolerDeployment.class),
+                @Dependent(name = "db-pooler-service", type = DBPoolerService.class, dependsOn = {"db-pooler-deployment"}, reconcilePrecondition = DBPoolerService.class),
+                @Dependent(name = "db-backup-pvc", type = DBBackupPersistentVolumeClaim.class, reconcilePrecondition = DBBackupPersistentVolumeClaim.class),
+                @Dependent(name = "db-backup-cronjob", type = DBBackupCronJob.class, dependsOn = {"db-service", "db-backup-pvc"}, reconcilePrecondition = DBBackupCronJob.class),
+                // The Web Console waits for the restore through its replicas, see DBRestoreJob.isPending.
+                // The precondition is unmet once the restore finished, the Job is deleted
+                @Dependent(name = "db-restore-job", type = DBRestoreJob.class, dependsOn = {"db-service"}, reconcilePrecondition = DBRestoreJob.class),
+
                 @Dependent(name = "web-pvc", type = WebConsolePersistentVolumeClaim.class),
-                @Dependent(name = "web-deployment", type = WebDeployment.class, dependsOn = {"db-service"}, readyPostcondition = WebDeployment.class),
+                @Dependent(name = "web-serviceaccount", type = WebServiceAccount.class),
+                @Dependent(name = "web-role", type = WebRole.class),
+                @Dependent(name = "web-rolebinding", type = WebRoleBinding.class, dependsOn = {"web-serviceaccount", "web-role"}),
+                @Dependent(name = "web-deployment", type = WebDeployment.class, dependsOn = {"db-service", "web-rolebinding"}, readyPostcondition = WebDeployment.class),
                 @Dependent(name = "web-service", type = WebService.class, dependsOn = {"db-service"}),
+                @Dependent(name = "web-ping-service", type = WebPingService.class),
 
                 @Dependent(name = "executor-deployment", type = ExecutorDeployment.class, dependsOn = {"web-service"}),
+                @Dependent(name = "executor-hpa", type = ExecutorHorizontalPodAutoscaler.class, dependsOn = {"executor-deployment"}, reconcilePrecondition = ExecutorHorizontalPodAutoscaler.class),
 
                 @Dependent(name = "ingress", type = WebIngress.class, dependsOn = {"db-service"}, readyPostcondition = WebIngress.class),
                 @Dependent(name = "ingress-secure", type = WebIngressSecure.class, dependsOn = {"db-service"}, readyPostcondition = WebIngressSecure.class)
@@ -46,50 +70,230 @@ public class WindupReconciler implements Reconciler<Windup>, ContextInitializer<
     public static final String DEPLOYMENT_EVENT_SOURCE = "DeploymentEventSource";
     public static final String SERVICE_EVENT_SOURCE = "ServiceEventSource";
     public static final String INGRESS_EVENT_SOURCE = "IngressEventSource";
+    public static final String POD_EVENT_SOURCE = "PodEventSource";
+    public static final String WINDUP_EVENT_SOURCE = "WindupEventSource";
+    public static final String POD_LABEL_SELECTOR = "app.kubernetes.io/managed-by=windup-operator,component in (web,executor,db-backup,db-restore)";
+
+    @Inject
+    ExecutorAutoscaler executorAutoscaler;
+
+    @Inject
+    ReadinessTracker readinessTracker;
+
+    @Inject
+    RolloutTracker rolloutTracker;
+
+    @Inject
+    ExecutorDrainer executorDrainer;
+
+    @Inject
+    PodStartupTracker podStartupTracker;
+
+    @Inject
+    ComponentReadiness componentReadiness;
+
+    @Inject
+    DatabaseDumpTracker databaseDumpTracker;
+
+    @Inject
+    WindupMetrics metrics;
+
+    @Inject
+    DBPersistentVolumeClaim dbPersistentVolumeClaim;
+
+    @Inject
+    WebConsolePersistentVolumeClaim webConsolePersistentVolumeClaim;
 
     @Override
     public void initContext(Windup cr, Context<Windup> context) {
         final var labels = Map.of(
-                "app.kubernetes.io/managed-by", "windup-operator",
+                Constants.MANAGED_BY_LABEL, Constants.MANAGED_BY_VALUE,
                 "app.kubernetes.io/name", cr.getMetadata().getName(),
-                "app.kubernetes.io/part-of", cr.getMetadata().getName(),
+                Constants.PART_OF_LABEL, cr.getMetadata().getName(),
                 "windup-operator/cluster", Constants.WINDUP_NAME
         );
         context.managedDependentResourceContext().put(Constants.CONTEXT_LABELS_KEY, labels);
+
+        QueueWaitTracker.getInstance().onReconcileStart(cr)
+                .ifPresent(queueWait -> metrics.recordQueueWait(cr, queueWait));
+
+        // Dependents are reconciled before reconcile() is called, start measuring here
+        context.managedDependentResourceContext().put(Constants.CONTEXT_RECONCILE_START_KEY, System.nanoTime());
+        context.managedDependentResourceContext().put(Constants.CONTEXT_API_CALLS_KEY, new AtomicInteger());
     }
 
     @Override
     public UpdateControl<Windup> reconcile(Windup cr, Context context) {
+        recordWorkflowReconcile(cr, context);
+
+        final var busyExecutors = executorDrainer.evaluate(cr, context);
+        final var autoscalerDelay = executorAutoscaler.evaluate(cr, context, busyExecutors);
+
+        // Only patched when changed, the patch is a diff against the original resource
+        final var statusChanged = updateStatus(cr, context);
+        if (statusChanged) {
+            // Sent by the SDK once this method returns, counted with the calls of the dependents
+            metrics.recordApiCall(cr, "windup", "patch");
+            context.managedDependentResourceContext().get(Constants.CONTEXT_API_CALLS_KEY, AtomicInteger.class)
+                    .ifPresent(AtomicInteger::incrementAndGet);
+        }
+        recordApiCalls(cr, context);
+
         return context.managedDependentResourceContext()
                 .getWorkflowReconcileResult()
                 .map(wrs -> {
+                    final var updateControl = statusChanged
+                            ? UpdateControl.patchStatus(cr)
+                            : UpdateControl.<Windup>noUpdate();
+
+                    // Readiness changes of the dependents are received as informer events,
+                    // the reschedule is only a fallback
+                    Optional<Duration> reschedule;
                     if (wrs.allDependentResourcesReady()) {
-                        return UpdateControl.<Windup>noUpdate();
+                        readinessTracker.onReady(cr);
+                        reschedule = Optional.empty();
                     } else {
-                        final var duration = Duration.ofSeconds(5);
-                        return UpdateControl.<Windup>noUpdate().rescheduleAfter(duration);
+                        reschedule = Optional.of(readinessTracker.onNotReady(cr));
                     }
+                    reschedule = Stream.of(reschedule, autoscalerDelay, executorDrainer.getProbeDelay(cr))
+                            .flatMap(Optional::stream)
+                            .min(Comparator.naturalOrder());
+
+                    return reschedule
+                            .map(updateControl::rescheduleAfter)
+                            .orElse(updateControl);
                 })
                 .orElseThrow();
     }
 
+    /**
+     * The dependents are garbage collected through their owner references, only the state kept in memory
+     * for the Windup and its meters are removed here.
+     */
+    private void forget(Windup cr) {
+        readinessTracker.forget(cr);
+        executorAutoscaler.forget(cr);
+        executorDrainer.forget(cr);
+        podStartupTracker.forget(cr);
+        QueueWaitTracker.getInstance().forget(cr);
+        metrics.forget(cr);
+    }
+
+    private void recordWorkflowReconcile(Windup cr, Context<Windup> context) {
+        context.managedDependentResourceContext().get(Constants.CONTEXT_RECONCILE_START_KEY, Long.class)
+                .ifPresent(startNanos -> metrics.recordWorkflowReconcile(cr, startNanos));
+    }
+
+    private void recordApiCalls(Windup cr, Context<Windup> context) {
+        context.managedDependentResourceContext().get(Constants.CONTEXT_API_CALLS_KEY, AtomicInteger.class)
+                .ifPresent(apiCalls -> metrics.recordApiCallsPerReconcile(cr, apiCalls.get()));
+    }
+
+    private boolean updateStatus(Windup cr, Context<Windup> context) {
+        final var status = Optional.ofNullable(cr.getStatus()).orElseGet(WindupStatus::new);
+        cr.setStatus(status);
+
+        final var executorAutoscalingStatus = executorAutoscaler.getStatus(cr);
+        final var volumesStatus = Stream.of(dbPersistentVolumeClaim, webConsolePersistentVolumeClaim)
+                .map(pvc -> pvc.getVolumeStatus(cr, context))
+                .filter(Objects::nonNull)
+                .toList();
+        final var rolloutsStatus = rolloutTracker.getStatus(cr, context);
+        final var podStartupsStatus = podStartupTracker.getStatus(cr, context);
+        final var conditions = componentReadiness.getConditions(cr, context);
+        final var backupStatus = databaseDumpTracker.getBackupStatus(cr, context);
+        final var restoreStatus = databaseDumpTracker.getRestoreStatus(cr, context);
+
+        if (Objects.equals(status.getExecutorAutoscaling(), executorAutoscalingStatus)
+                && Objects.equals(status.getVolumes(), volumesStatus)
+                && Objects.equals(status.getRollouts(), rolloutsStatus)
+                && Objects.equals(status.getPodStartups(), podStartupsStatus)
+                && Objects.equals(status.getConditions(), conditions)
+                && Objects.equals(status.getBackup(), backupStatus)
+                && Objects.equals(status.getRestore(), restoreStatus)) {
+            return false;
+        }
+
+        status.setExecutorAutoscaling(executorAutoscalingStatus);
+        status.setVolumes(volumesStatus);
+        status.setRollouts(rolloutsStatus);
+        status.setPodStartups(podStartupsStatus);
+        status.setConditions(conditions);
+        status.setBackup(backupStatus);
+        status.setRestore(restoreStatus);
+        return true;
+    }
+
     @Override
     public Map<String, EventSource> prepareEventSources(EventSourceContext<Windup> context) {
-        var pcvInformerConfiguration = InformerConfiguration.from(PersistentVolumeClaim.class, context).build();
-        var deploymentInformerConfiguration = InformerConfiguration.from(Deployment.class, context).build();
-        var serviceInformerConfiguration = InformerConfiguration.from(Service.class, context).build();
-        var ingressInformerConfiguration = InformerConfiguration.from(Ingress.class, context).build();
+        // Only cache the objects managed by the operator, and only process the events of this shard
+        final var shardFilter = new ShardFilter();
+
+        var pcvInformerConfiguration = InformerConfiguration.from(PersistentVolumeClaim.class, context)
+                .withLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR)
+                .withGenericFilter(shardFilter);
+        var deploymentInformerConfiguration = InformerConfiguration.from(Deployment.class, context)
+                .withLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR)
+                .withGenericFilter(shardFilter);
+        var serviceInformerConfiguration = InformerConfiguration.from(Service.class, context)
+                .withLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR)
+                .withGenericFilter(shardFilter);
+        var ingressInformerConfiguration = InformerConfiguration.from(Ingress.class, context)
+                .withLabelSelector(Constants.MANAGED_BY_LABEL_SELECTOR)
+                .withGenericFilter(shardFilter);
+
+        // Pods are owned by the ReplicaSets, they are mapped to their Windup through the part-of label.
+        // The deletion costs set by the ExecutorDrainer do not trigger a reconcile
+        var podInformerConfiguration = InformerConfiguration.from(Pod.class, context)
+                .withLabelSelector(POD_LABEL_SELECTOR)
+                .withSecondaryToPrimaryMapper(Mappers.fromLabel(Constants.PART_OF_LABEL))
+                .withOnUpdateFilter((newPod, oldPod) -> !ExecutorDrainer.isDeletionCostUpdate(newPod, oldPod))
+                .withGenericFilter(shardFilter);
+
+        // The Windups have no finalizer, so a deletion does not reach the reconciler. The state kept in memory for a
+        // Windup is forgotten on its delete event instead, this informer never triggers a reconcile itself
+        var windupInformerConfiguration = InformerConfiguration.from(Windup.class, context)
+                .withOnAddFilter(cr -> false)
+                .withOnUpdateFilter((newCr, oldCr) -> false)
+                .withOnDeleteFilter((cr, deletedFinalStateUnknown) -> {
+                    forget(cr);
+                    return false;
+                });
 
-        var pcvInformerEventSource = new InformerEventSource<>(pcvInformerConfiguration, context);
-        var deploymentInformerEventSource = new InformerEventSource<>(deploymentInformerConfiguration, context);
-        var serviceInformerEventSource = new InformerEventSource<>(serviceInformerConfiguration, context);
-        var ingressInformerEventSource = new InformerEventSource<>(ingressInformerConfiguration, context);
+        var pcvInformerEventSource = indexedInformer(pcvInformerConfiguration, context);
+        var deploymentInformerEventSource = indexedInformer(deploymentInformerConfiguration, context);
+        var serviceInformerEventSource = indexedInformer(serviceInformerConfiguration, context);
+        var ingressInformerEventSource = indexedInformer(ingressInformerConfiguration, context);
+        var podInformerEventSource = indexedInformer(podInformerConfiguration, context);
+        var windupInformerEventSource = new InformerEventSource<>(windupInformerConfiguration.build(), context);
+
+        metrics.registerInformerCacheSize(PVC_EVENT_SOURCE, pcvInformerEventSource);
+        metrics.registerInformerCacheSize(DEPLOYMENT_EVENT_SOURCE, deploymentInformerEventSource);
+        metrics.registerInformerCacheSize(SERVICE_EVENT_SOURCE, serviceInformerEventSource);
+        metrics.registerInformerCacheSize(INGRESS_EVENT_SOURCE, ingressInformerEventSource);
+        metrics.registerInformerCacheSize(POD_EVENT_SOURCE, podInformerEventSource);
+        metrics.registerShardLoad(ShardFilter.getShard(), context.getPrimaryCache());
 
         return Map.of(
                 PVC_EVENT_SOURCE, pcvInformerEventSource,
                 DEPLOYMENT_EVENT_SOURCE, deploymentInformerEventSource,
                 SERVICE_EVENT_SOURCE, serviceInformerEventSource,
-                INGRESS_EVENT_SOURCE, ingressInformerEventSource
+                INGRESS_EVENT_SOURCE, ingressInformerEventSource,
+                POD_EVENT_SOURCE, podInformerEventSource,
+                WINDUP_EVENT_SOURCE, windupInformerEventSource
+        );
+    }
+
+    /**
+     * The secondary resources of a Windup are served from the indexes of the informer, see {@link SecondaryIndexers}.
+     */
+    private <R extends HasMetadata> InformerEventSource<R, Windup> indexedInformer(InformerConfiguration.InformerConfigurationBuilder<R> configuration, EventSourceContext<Windup> context) {
+        final var informer = new AtomicReference<InformerEventSource<R, Windup>>();
+        informer.set(new InformerEventSource<>(configuration
+                .withPrimaryToSecondaryMapper(SecondaryIndexers.primaryToSecondary(informer::get))
+                .build(), context)
         );
+        SecondaryIndexers.addTo(informer.get());
+        return informer.get();
     }
 }
@@ -1,14 +1,26 @@
 package org.jboss.windup.operator.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.function.Function;
 
 public class CRDUtils {
 
+    // Map entries are sorted so the hash does not depend on the Map implementation
+    private static final ObjectMapper SPEC_HASH_MAPPER = Serialization.jsonMapper()
+            .copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
     public static OwnerReference getOwnerReference(Windup cr) {
         return new OwnerReferenceBuilder()
                 .withApiVersion(cr.getApiVersion())
@@ -27,4 +39,13 @@ public class CRDUtils {
         }
     }
 
+    public static String getSpecHash(Object spec) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(SPEC_HASH_MAPPER.writeValueAsBytes(spec));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the hash of the spec", e);
+        }
+    }
+
 }
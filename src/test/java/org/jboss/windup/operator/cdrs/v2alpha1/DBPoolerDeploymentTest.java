@@ -0,0 +1,132 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.jboss.windup.operator.Config;
+import org.jboss.windup.operator.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DBPoolerDeploymentTest {
+
+    private DBPoolerDeployment dbPoolerDeployment;
+
+    @BeforeEach
+    public void setup() {
+        dbPoolerDeployment = new DBPoolerDeployment();
+        dbPoolerDeployment.config = new Config() {
+            @Override
+            public String webImage() {
+                return "web:latest";
+            }
+
+            @Override
+            public String executorImage() {
+                return "executor:latest";
+            }
+
+            @Override
+            public String dbImage() {
+                return "db:latest";
+            }
+
+            @Override
+            public String dbPoolerImage() {
+                return "pooler:latest";
+            }
+
+            @Override
+            public String dbPoolerExporterImage() {
+                return "exporter:latest";
+            }
+
+            @Override
+            public String imagePullPolicy() {
+                return "IfNotPresent";
+            }
+        };
+    }
+
+    @Test
+    public void poolerShouldOnlyBeCreatedWhenEnabled() {
+        assertFalse(dbPoolerDeployment.isMet(newWindup(null), null, null));
+        assertTrue(dbPoolerDeployment.isMet(newWindup(WindupSpec.ConnectionPoolerSpec.builder()
+                .enabled(true)
+                .build()), null, null)
+        );
+    }
+
+    @Test
+    public void selectorShouldOnlyMatchThePoolerOfItsWindup() {
+        Windup cr = newWindup(WindupSpec.ConnectionPoolerSpec.builder()
+                .enabled(true)
+                .build()
+        );
+
+        final var deployment = dbPoolerDeployment.desired(cr, TestContexts.newContext(cr));
+
+        final var selector = deployment.getSpec().getSelector().getMatchLabels();
+        assertEquals(Map.of("windup-operator/group", "db-pooler", Constants.PART_OF_LABEL, "test-app"), selector);
+        assertTrue(deployment.getSpec().getTemplate().getMetadata().getLabels().entrySet().containsAll(selector.entrySet()));
+        assertEquals(selector, DBPoolerDeployment.getSelectorLabels(cr));
+    }
+
+    @Test
+    public void poolShouldFollowTheSpec() {
+        Windup defaults = newWindup(WindupSpec.ConnectionPoolerSpec.builder()
+                .enabled(true)
+                .build()
+        );
+        Windup tuned = newWindup(WindupSpec.ConnectionPoolerSpec.builder()
+                .enabled(true)
+                .poolMode("transaction")
+                .defaultPoolSize(50)
+                .maxClientConnections(200)
+                .build()
+        );
+
+        final var defaultEnvVars = getPoolerEnvVars(defaults);
+        assertEquals(DBService.getServiceName(defaults), defaultEnvVars.get("POSTGRESQL_HOST"));
+        assertEquals("5432", defaultEnvVars.get("POSTGRESQL_PORT"));
+        assertEquals("6432", defaultEnvVars.get("PGBOUNCER_PORT"));
+        assertEquals("session", defaultEnvVars.get("PGBOUNCER_POOL_MODE"));
+        assertEquals("20", defaultEnvVars.get("PGBOUNCER_DEFAULT_POOL_SIZE"));
+        assertEquals("1000", defaultEnvVars.get("PGBOUNCER_MAX_CLIENT_CONN"));
+
+        final var tunedEnvVars = getPoolerEnvVars(tuned);
+        assertEquals("transaction", tunedEnvVars.get("PGBOUNCER_POOL_MODE"));
+        assertEquals("50", tunedEnvVars.get("PGBOUNCER_DEFAULT_POOL_SIZE"));
+        assertEquals("200", tunedEnvVars.get("PGBOUNCER_MAX_CLIENT_CONN"));
+    }
+
+    private Map<String, String> getPoolerEnvVars(Windup cr) {
+        return dbPoolerDeployment.desired(cr, TestContexts.newContext(cr)).getSpec().getTemplate().getSpec().getContainers().stream()
+                .filter(container -> container.getName().equals(Constants.WINDUP_DB_POOLER_NAME))
+                .findFirst()
+                .orElseThrow()
+                .getEnv().stream()
+                .filter(envVar -> envVar.getValue() != null)
+                .collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+    }
+
+    private static Windup newWindup(WindupSpec.ConnectionPoolerSpec connectionPoolerSpec) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setDatabaseSpec(WindupSpec.DatabaseSpec.builder()
+                .connectionPoolerSpec(connectionPoolerSpec)
+                .build()
+        );
+        return cr;
+    }
+}
@@ -0,0 +1,117 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.JobConditionBuilder;
+import org.jboss.windup.operator.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DBRestoreJobTest {
+
+    private Windup cr;
+
+    @BeforeEach
+    public void setup() {
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setDatabaseSpec(WindupSpec.DatabaseSpec.builder()
+                .restoreSpec(WindupSpec.RestoreSpec.builder()
+                        .dump("windup-20230101020000")
+                        .build()
+                )
+                .build()
+        );
+    }
+
+    @Test
+    public void specHashShouldIncludeTheDefaults() {
+        String specHash = DBRestoreJob.getSpecHash(cr);
+
+        cr.getSpec().getDatabaseSpec().getRestoreSpec().setParallelJobs(Constants.DB_BACKUP_PARALLEL_JOBS);
+        assertEquals(specHash, DBRestoreJob.getSpecHash(cr));
+
+        cr.getSpec().getDatabaseSpec().getRestoreSpec().setDump(Constants.DB_BACKUP_LATEST);
+        assertNotEquals(specHash, DBRestoreJob.getSpecHash(cr));
+
+        cr.getSpec().getDatabaseSpec().setRestoreSpec(null);
+        assertNull(DBRestoreJob.getSpecHash(cr));
+    }
+
+    @Test
+    public void restoreShouldBePendingUntilTheJobFinished() {
+        String specHash = DBRestoreJob.getSpecHash(cr);
+
+        assertTrue(DBRestoreJob.isPending(cr, (Job) null));
+        assertTrue(DBRestoreJob.isPending(cr, job(specHash, null, false)));
+        assertFalse(DBRestoreJob.isPending(cr, job(specHash, 1, false)));
+        // A failed restore does not hold the Web Console
+        assertFalse(DBRestoreJob.isPending(cr, job(specHash, null, true)));
+        // The finished Job of a previous restore spec
+        assertTrue(DBRestoreJob.isPending(cr, job("previous", 1, false)));
+    }
+
+    @Test
+    public void finishedRestoreShouldNotBeRunAgain() {
+        String specHash = DBRestoreJob.getSpecHash(cr);
+        DBRestoreJob dbRestoreJob = new DBRestoreJob();
+
+        assertTrue(dbRestoreJob.isMet(cr, null, null));
+
+        cr.setStatus(WindupStatus.builder()
+                .restore(WindupStatus.DatabaseDumpStatus.builder()
+                        .state(Constants.DB_DUMP_STATE_FAILED)
+                        .specHash(specHash)
+                        .build()
+                )
+                .build()
+        );
+        assertFalse(dbRestoreJob.isMet(cr, null, null));
+        assertFalse(DBRestoreJob.isPending(cr, (Job) null));
+
+        // Runs again for another restore spec, once the finished Job is deleted
+        cr.getSpec().getDatabaseSpec().getRestoreSpec().setDump(Constants.DB_BACKUP_LATEST);
+        assertFalse(dbRestoreJob.isMet(cr, job(specHash, null, true), null));
+        assertTrue(dbRestoreJob.isMet(cr, null, null));
+        assertTrue(DBRestoreJob.isPending(cr, (Job) null));
+    }
+
+    @Test
+    public void jobState() {
+        assertNull(DBRestoreJob.getState(job("hash", null, false)));
+        assertEquals(Constants.DB_DUMP_STATE_SUCCEEDED, DBRestoreJob.getState(job("hash", 1, false)));
+        assertEquals(Constants.DB_DUMP_STATE_FAILED, DBRestoreJob.getState(job("hash", null, true)));
+    }
+
+    private static Job job(String specHash, Integer succeeded, boolean failed) {
+        final var builder = new JobBuilder()
+                .withNewMetadata()
+                .withName("test-app" + Constants.DB_RESTORE_JOB_SUFFIX)
+                .addToAnnotations(Constants.SPEC_HASH_ANNOTATION, specHash)
+                .endMetadata()
+                .withNewStatus()
+                .withSucceeded(succeeded)
+                .endStatus();
+        if (failed) {
+            builder.editStatus()
+                    .addToConditions(new JobConditionBuilder()
+                            .withType("Failed")
+                            .withStatus("True")
+                            .build()
+                    )
+                    .endStatus();
+        }
+        return builder.build();
+    }
+}
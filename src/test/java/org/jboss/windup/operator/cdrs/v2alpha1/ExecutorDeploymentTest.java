@@ -0,0 +1,197 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.jboss.windup.operator.Config;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.ExecutorAutoscaler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorDeploymentTest {
+
+    private ExecutorDeployment executorDeployment;
+    private ExecutorHorizontalPodAutoscaler executorHorizontalPodAutoscaler;
+
+    @BeforeEach
+    public void setup() {
+        executorDeployment = new ExecutorDeployment();
+        executorDeployment.executorAutoscaler = new ExecutorAutoscaler();
+        executorDeployment.config = new Config() {
+            @Override
+            public String webImage() {
+                return "web:latest";
+            }
+
+            @Override
+            public String executorImage() {
+                return "executor:latest";
+            }
+
+            @Override
+            public String dbImage() {
+                return "db:latest";
+            }
+
+            @Override
+            public String dbPoolerImage() {
+                return "pooler:latest";
+            }
+
+            @Override
+            public String dbPoolerExporterImage() {
+                return "exporter:latest";
+            }
+
+            @Override
+            public String imagePullPolicy() {
+                return "IfNotPresent";
+            }
+        };
+        executorHorizontalPodAutoscaler = new ExecutorHorizontalPodAutoscaler();
+    }
+
+    @Test
+    public void newDeploymentShouldOnlySelectTheExecutorsOfItsWindup() {
+        Windup cr = newWindup(true);
+        final var deployment = executorDeployment.desired(cr, TestContexts.newContext(cr));
+
+        final var selector = deployment.getSpec().getSelector().getMatchLabels();
+        assertEquals(Map.of("windup-operator/group", "executor", Constants.PART_OF_LABEL, "test-app"), selector);
+        assertTrue(deployment.getSpec().getTemplate().getMetadata().getLabels().entrySet().containsAll(selector.entrySet()));
+
+        // Scaled by the HorizontalPodAutoscaler, the replicas are not part of the apply
+        assertNull(deployment.getSpec().getReplicas());
+        assertTrue(executorHorizontalPodAutoscaler.isMet(cr, null, TestContexts.newContext(cr)));
+    }
+
+    @Test
+    public void previousDeploymentShouldKeepItsSelectorWithoutHorizontalPodAutoscaler() {
+        Windup cr = newWindup(true);
+        cr.getSpec().setExecutorInstances(2);
+        final var context = TestContexts.newContext(cr, Map.of("executor-deployment", newDeployment(Constants.DB_SELECTOR_LABELS)));
+
+        final var deployment = executorDeployment.desired(cr, context);
+
+        assertEquals(Constants.DB_SELECTOR_LABELS, deployment.getSpec().getSelector().getMatchLabels());
+        assertEquals("db", deployment.getSpec().getTemplate().getMetadata().getLabels().get("windup-operator/group"));
+        assertEquals(2, deployment.getSpec().getReplicas());
+        assertFalse(executorHorizontalPodAutoscaler.isMet(cr, null, context));
+    }
+
+    @Test
+    public void recreatedDeploymentShouldBeScaledByTheHorizontalPodAutoscaler() {
+        Windup cr = newWindup(true);
+        final var actual = executorDeployment.desired(cr, TestContexts.newContext(cr));
+        final var context = TestContexts.newContext(cr, Map.of("executor-deployment", actual));
+
+        assertNull(executorDeployment.desired(cr, context).getSpec().getReplicas());
+        assertTrue(executorHorizontalPodAutoscaler.isMet(cr, null, context));
+
+        cr.getSpec().getExecutorHorizontalPodAutoscalerSpec().setEnabled(false);
+        assertEquals(1, executorDeployment.desired(cr, context).getSpec().getReplicas());
+        assertFalse(executorHorizontalPodAutoscaler.isMet(cr, null, context));
+    }
+
+    @Test
+    public void scratchVolumeShouldUseTheDiskByDefault() {
+        final var volume = ExecutorDeployment.getScratchVolume(newWindup(false), "scratch");
+
+        assertEquals("scratch", volume.getName());
+        assertNull(volume.getEmptyDir().getMedium());
+        assertNull(volume.getEmptyDir().getSizeLimit());
+    }
+
+    @Test
+    public void scratchVolumeShouldBeInMemoryWhenItFits() {
+        // 4Gi memory limit, 2Gi of heap and 512Mi of metaspace leave 1.5Gi
+        Windup cr = newWindupWithScratch(Constants.EXECUTOR_SCRATCH_MEDIUM_MEMORY, "1Gi", null);
+
+        assertTrue(ExecutorDeployment.fitsInMemory(cr, new Quantity("1536Mi")));
+        assertFalse(ExecutorDeployment.fitsInMemory(cr, new Quantity("1537Mi")));
+
+        final var volume = ExecutorDeployment.getScratchVolume(cr, "scratch");
+        assertEquals("Memory", volume.getEmptyDir().getMedium());
+        assertEquals(new Quantity("1Gi"), volume.getEmptyDir().getSizeLimit());
+    }
+
+    @Test
+    public void scratchVolumeShouldFallBackToTheDiskWhenItDoesNotFitInMemory() {
+        final var oversized = ExecutorDeployment.getScratchVolume(newWindupWithScratch(Constants.EXECUTOR_SCRATCH_MEDIUM_MEMORY, "2Gi", null), "scratch");
+        assertNull(oversized.getEmptyDir().getMedium());
+        assertEquals(new Quantity("2Gi"), oversized.getEmptyDir().getSizeLimit());
+
+        // Without a size limit, the volume could take all the memory of the container
+        final var unbounded = ExecutorDeployment.getScratchVolume(newWindupWithScratch(Constants.EXECUTOR_SCRATCH_MEDIUM_MEMORY, null, null), "scratch");
+        assertNull(unbounded.getEmptyDir().getMedium());
+        assertNull(unbounded.getEmptyDir().getSizeLimit());
+    }
+
+    @Test
+    public void ephemeralScratchVolumeShouldBeClaimedFromTheStorageClass() {
+        final var volume = ExecutorDeployment.getScratchVolume(newWindupWithScratch(Constants.EXECUTOR_SCRATCH_MEDIUM_EPHEMERAL, null, "fast"), "scratch");
+
+        assertNull(volume.getEmptyDir());
+        final var claimSpec = volume.getEphemeral().getVolumeClaimTemplate().getSpec();
+        assertEquals("fast", claimSpec.getStorageClassName());
+        assertEquals(new Quantity(Constants.EXECUTOR_SCRATCH_EPHEMERAL_SIZE), claimSpec.getResources().getRequests().get("storage"));
+
+        final var sized = ExecutorDeployment.getScratchVolume(newWindupWithScratch(Constants.EXECUTOR_SCRATCH_MEDIUM_EPHEMERAL, "50Gi", null), "scratch");
+        final var sizedClaimSpec = sized.getEphemeral().getVolumeClaimTemplate().getSpec();
+        assertNull(sizedClaimSpec.getStorageClassName());
+        assertEquals(new Quantity("50Gi"), sizedClaimSpec.getResources().getRequests().get("storage"));
+    }
+
+    private static Windup newWindupWithScratch(String medium, String sizeLimit, String storageClassName) {
+        Windup cr = newWindup(false);
+        cr.getSpec().setExecutorJvmSpec(WindupSpec.JvmSpec.builder()
+                .maxHeapPercentage(50)
+                .maxMetaspaceSizeMb(512)
+                .build()
+        );
+        cr.getSpec().setExecutorScratchSpec(WindupSpec.ExecutorScratchSpec.builder()
+                .medium(medium)
+                .sizeLimit(sizeLimit)
+                .storageClassName(storageClassName)
+                .build()
+        );
+        return cr;
+    }
+
+    private static Windup newWindup(boolean horizontalPodAutoscalerEnabled) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setExecutorHorizontalPodAutoscalerSpec(WindupSpec.ExecutorHorizontalPodAutoscalerSpec.builder()
+                .enabled(horizontalPodAutoscalerEnabled)
+                .build()
+        );
+        return cr;
+    }
+
+    private static Deployment newDeployment(Map<String, String> selectorLabels) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("test-app" + Constants.EXECUTOR_DEPLOYMENT_SUFFIX)
+                .endMetadata()
+                .withNewSpec()
+                .withReplicas(2)
+                .withNewSelector()
+                .withMatchLabels(selectorLabels)
+                .endSelector()
+                .endSpec()
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentVolumeClaimBaseTest {
+
+    @Test
+    public void onlyLargerSizesShouldExpandTheClaim() {
+        assertTrue(PersistentVolumeClaimBase.isGrowing(claim("10Gi", null, "Bound"), claim("20Gi", null, null)));
+        assertFalse(PersistentVolumeClaimBase.isGrowing(claim("10Gi", null, "Bound"), claim("10Gi", null, null)));
+        // Claims can not shrink
+        assertFalse(PersistentVolumeClaimBase.isGrowing(claim("10Gi", null, "Bound"), claim("5Gi", null, null)));
+        assertFalse(PersistentVolumeClaimBase.isGrowing(claim("10G", null, "Bound"), claim("10000M", null, null)));
+    }
+
+    @Test
+    public void volumeStatusShouldFollowTheExpansion() {
+        final var bound = PersistentVolumeClaimBase.getVolumeStatus(claim("10Gi", "10Gi", "Bound"), "db", "10Gi");
+        assertEquals("Bound", bound.getState());
+        assertEquals("10Gi", bound.getCapacity());
+        assertEquals("db", bound.getComponent());
+
+        // Larger size in the spec but the claim was not expanded
+        assertEquals("ExpansionNotSupported", PersistentVolumeClaimBase.getVolumeStatus(claim("10Gi", "10Gi", "Bound"), "db", "20Gi").getState());
+
+        assertEquals("Resizing", PersistentVolumeClaimBase.getVolumeStatus(claim("20Gi", "10Gi", "Bound"), "db", "20Gi").getState());
+
+        final var fileSystemResizePending = new PersistentVolumeClaimBuilder(claim("20Gi", "10Gi", "Bound"))
+                .editStatus()
+                .addNewCondition()
+                .withType("FileSystemResizePending")
+                .withStatus("True")
+                .endCondition()
+                .endStatus()
+                .build();
+        assertEquals("FileSystemResizePending", PersistentVolumeClaimBase.getVolumeStatus(fileSystemResizePending, "db", "20Gi").getState());
+    }
+
+    private static PersistentVolumeClaim claim(String requested, String capacity, String phase) {
+        final var builder = new PersistentVolumeClaimBuilder()
+                .withNewMetadata()
+                .withName("test-app-postgresql")
+                .withNamespace("test")
+                .endMetadata()
+                .withNewSpec()
+                .withNewResources()
+                .addToRequests("storage", new Quantity(requested))
+                .endResources()
+                .endSpec();
+        if (phase != null) {
+            builder.withNewStatus()
+                    .withPhase(phase)
+                    .endStatus();
+        }
+        if (capacity != null) {
+            builder.editStatus()
+                    .addToCapacity("storage", new Quantity(capacity))
+                    .endStatus();
+        }
+        return builder.build();
+    }
+}
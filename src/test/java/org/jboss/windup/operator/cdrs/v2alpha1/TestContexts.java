@@ -0,0 +1,58 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.DefaultManagedDependentResourceContext;
+import org.jboss.windup.operator.Constants;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Context of a reconcile for the tests of the dependents: the labels and the API calls counter put by the
+ * reconciler, and the secondary resources by dependent name.
+ */
+final class TestContexts {
+
+    private TestContexts() {
+    }
+
+    static Context<Windup> newContext(Windup cr) {
+        return newContext(cr, Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    static Context<Windup> newContext(Windup cr, Map<String, HasMetadata> secondaryResources) {
+        final var dependentContext = new DefaultManagedDependentResourceContext();
+        dependentContext.put(Constants.CONTEXT_LABELS_KEY, Map.of(
+                Constants.MANAGED_BY_LABEL, Constants.MANAGED_BY_VALUE,
+                "app.kubernetes.io/name", cr.getMetadata().getName(),
+                Constants.PART_OF_LABEL, cr.getMetadata().getName(),
+                "windup-operator/cluster", Constants.WINDUP_NAME
+        ));
+        dependentContext.put(Constants.CONTEXT_API_CALLS_KEY, new AtomicInteger());
+
+        return (Context<Windup>) Proxy.newProxyInstance(
+                TestContexts.class.getClassLoader(),
+                new Class[]{Context.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("managedDependentResourceContext")) {
+                        return dependentContext;
+                    }
+                    if (method.getName().equals("getSecondaryResource") && args.length == 2) {
+                        return Optional.ofNullable(secondaryResources.get((String) args[1]))
+                                .filter(((Class<?>) args[0])::isInstance);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    static int getApiCalls(Context<Windup> context) {
+        return context.managedDependentResourceContext()
+                .getMandatory(Constants.CONTEXT_API_CALLS_KEY, AtomicInteger.class)
+                .get();
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import org.jboss.windup.operator.Constants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebDeploymentTest {
+
+    @Test
+    public void existingClaimAccessModesShouldWinOverTheSpec() {
+        Windup cr = newWindup("ReadWriteMany");
+
+        assertFalse(WebConsolePersistentVolumeClaim.isReadWriteMany(cr, newClaim("ReadWriteOnce")));
+        assertTrue(WebConsolePersistentVolumeClaim.isReadWriteMany(newWindup(null), newClaim("ReadWriteMany")));
+    }
+
+    @Test
+    public void specAccessModeShouldApplyBeforeTheClaimExists() {
+        assertTrue(WebConsolePersistentVolumeClaim.isReadWriteMany(newWindup("ReadWriteMany"), null));
+        assertFalse(WebConsolePersistentVolumeClaim.isReadWriteMany(newWindup(null), null));
+    }
+
+    @Test
+    public void replicasShouldBeOneWithoutReadWriteMany() {
+        Windup cr = newWindup("ReadWriteMany");
+        cr.getSpec().setWebInstances(3);
+
+        assertEquals(3, WebDeployment.getReplicas(cr, true));
+        assertEquals(1, WebDeployment.getReplicas(cr, false));
+
+        cr.getSpec().setWebInstances(0);
+        assertEquals(1, WebDeployment.getReplicas(cr, true));
+    }
+
+    private Windup newWindup(String accessMode) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        if (accessMode != null) {
+            cr.getSpec().setDataStorageSpec(WindupSpec.StorageSpec.builder()
+                    .accessMode(accessMode)
+                    .build()
+            );
+        }
+        return cr;
+    }
+
+    private PersistentVolumeClaim newClaim(String accessMode) {
+        return new PersistentVolumeClaimBuilder()
+                .withNewMetadata()
+                .withName("test-app" + Constants.WEB_PVC_SUFFIX)
+                .endMetadata()
+                .withNewSpec()
+                .withAccessModes(accessMode)
+                .endSpec()
+                .build();
+    }
+}
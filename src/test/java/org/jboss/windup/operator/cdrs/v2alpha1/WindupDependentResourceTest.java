@@ -0,0 +1,126 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.controllers.TestMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@EnableKubernetesMockClient(crud = true)
+public class WindupDependentResourceTest {
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private SimpleMeterRegistry registry;
+    private TestConfigMap dependent;
+    private Windup cr;
+    private Context<Windup> context;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        dependent = new TestConfigMap();
+        dependent.metrics = TestMetrics.newMetrics(registry);
+        dependent.setKubernetesClient(client);
+
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .withUid("test-uid")
+                .build()
+        );
+        context = TestContexts.newContext(cr);
+    }
+
+    @Test
+    public void createShouldApplyTheDesiredState() {
+        dependent.create(dependent.desired(cr, context), cr, context);
+
+        final var created = client.configMaps().inNamespace("test").withName("test-app-test").get();
+        assertNotNull(created);
+        assertEquals("1", created.getData().get("value"));
+        assertEquals("test-uid", created.getMetadata().getOwnerReferences().get(0).getUid());
+        assertEquals(1, TestContexts.getApiCalls(context));
+        assertEquals(1, getPayload("apply").count());
+        assertNull(getPayload("replace"));
+    }
+
+    @Test
+    public void updateShouldApplyWithoutTheActualResourceVersion() {
+        dependent.create(dependent.desired(cr, context), cr, context);
+        final var actual = client.configMaps().inNamespace("test").withName("test-app-test").get();
+
+        dependent.value = "2";
+        final var target = dependent.desired(cr, context);
+        // A desired state copied from the actual one must not conflict with a newer version of the resource
+        target.getMetadata().setResourceVersion("1");
+        dependent.update(actual, target, cr, context);
+
+        final var updated = client.configMaps().inNamespace("test").withName("test-app-test").get();
+        assertEquals("2", updated.getData().get("value"));
+        assertEquals(2, TestContexts.getApiCalls(context));
+        assertEquals(2, getPayload("apply").count());
+        assertEquals(1, getPayload("replace").count());
+    }
+
+    @Test
+    public void deleteShouldOnlyBeCountedForAnExistingResource() {
+        dependent.delete(cr, context);
+        assertEquals(0, TestContexts.getApiCalls(context));
+
+        dependent.create(dependent.desired(cr, context), cr, context);
+        final var actual = client.configMaps().inNamespace("test").withName("test-app-test").get();
+        final var deleteContext = TestContexts.newContext(cr, Map.of(TestConfigMap.NAME, actual));
+        dependent.delete(cr, deleteContext);
+
+        assertNull(client.configMaps().inNamespace("test").withName("test-app-test").get());
+        assertEquals(1, TestContexts.getApiCalls(deleteContext));
+        assertEquals(1, registry.find("windup.operator.api.calls")
+                .tags("dependent", TestConfigMap.NAME, "verb", "delete")
+                .counter()
+                .count());
+    }
+
+    private DistributionSummary getPayload(String mode) {
+        return registry.find("windup.operator.write.payload")
+                .tags("dependent", TestConfigMap.NAME, "mode", mode)
+                .summary();
+    }
+
+    static class TestConfigMap extends WindupDependentResource<ConfigMap> {
+
+        static final String NAME = "test-configmap";
+
+        String value = "1";
+
+        TestConfigMap() {
+            super(ConfigMap.class, NAME);
+        }
+
+        @Override
+        protected ConfigMap desired(Windup cr, Context<Windup> context) {
+            return new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName(cr.getMetadata().getName() + "-test")
+                    .withNamespace(cr.getMetadata().getNamespace())
+                    .endMetadata()
+                    .withData(Map.of("value", value))
+                    .build();
+        }
+    }
+}
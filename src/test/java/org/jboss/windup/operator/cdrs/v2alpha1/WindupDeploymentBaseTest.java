@@ -0,0 +1,262 @@
+package org.jboss.windup.operator.cdrs.v2alpha1;
+
+import io.fabric8.kubernetes.api.model.AffinityBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.NodeAffinityBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PodAntiAffinityBuilder;
+import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.TolerationBuilder;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraintBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.controllers.TestMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableKubernetesMockClient(crud = true)
+public class WindupDeploymentBaseTest {
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private SimpleMeterRegistry registry;
+    private TestDeployment dependent;
+    private Windup cr;
+    private Context<Windup> context;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        dependent = new TestDeployment();
+        dependent.metrics = TestMetrics.newMetrics(registry);
+        dependent.setKubernetesClient(client);
+
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        context = TestContexts.newContext(cr);
+    }
+
+    @Test
+    public void unchangedSpecShouldSkipTheUpdate() {
+        Deployment actual = dependent.desired(cr, context);
+        // Fields set by the cluster are not part of the hash
+        actual.getMetadata().setResourceVersion("42");
+        actual.setStatus(null);
+
+        final var result = dependent.match(actual, cr, context);
+
+        assertTrue(result.matched());
+        assertEquals(1, getUpdates("skipped"));
+        assertEquals(0, getUpdates("applied"));
+    }
+
+    @Test
+    public void changedSpecShouldApplyTheDesiredDeployment() {
+        Deployment actual = dependent.desired(cr, context);
+        dependent.replicas = 3;
+
+        final var result = dependent.match(actual, cr, context);
+
+        assertFalse(result.matched());
+        assertEquals(3, result.computedDesired().orElseThrow().getSpec().getReplicas());
+        assertNotEquals(getSpecHash(actual), getSpecHash(result.computedDesired().orElseThrow()));
+        assertEquals(0, getUpdates("skipped"));
+
+        final var createContext = TestContexts.newContext(cr);
+        dependent.create(actual, cr, createContext);
+        final var updated = dependent.update(actual, result.computedDesired().orElseThrow(), cr, context);
+
+        assertEquals(3, updated.getSpec().getReplicas());
+        assertEquals(getSpecHash(result.computedDesired().orElseThrow()), getSpecHash(updated));
+        assertEquals(1, getUpdates("applied"));
+        assertEquals(1, TestContexts.getApiCalls(context));
+    }
+
+    @Test
+    public void rollingUpdateShouldAcceptNumbersAndPercentages() {
+        final var strategy = WindupDeploymentBase.getStrategy(WindupSpec.UpdateStrategySpec.builder()
+                .maxSurge(" 2 ")
+                .maxUnavailable("50%")
+                .build(), true
+        );
+
+        assertEquals(Constants.DEPLOYMENT_STRATEGY_ROLLING_UPDATE, strategy.getType());
+        assertEquals(new IntOrString(2), strategy.getRollingUpdate().getMaxSurge());
+        assertEquals(new IntOrString("50%"), strategy.getRollingUpdate().getMaxUnavailable());
+    }
+
+    @Test
+    public void invalidRollingUpdateValuesShouldFallBackToDefaults() {
+        final var strategy = WindupDeploymentBase.getStrategy(WindupSpec.UpdateStrategySpec.builder()
+                .maxSurge("1.5")
+                .maxUnavailable("abc")
+                .build(), true
+        );
+
+        assertEquals(new IntOrString(Constants.DEPLOYMENT_MAX_SURGE), strategy.getRollingUpdate().getMaxSurge());
+        assertEquals(new IntOrString(Integer.parseInt(Constants.DEPLOYMENT_MAX_UNAVAILABLE)), strategy.getRollingUpdate().getMaxUnavailable());
+    }
+
+    @Test
+    public void podsShouldBeSpreadAcrossNodesAndZonesByDefault() {
+        final var podSpec = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "executor", null, Constants.ANTI_AFFINITY_PREFERRED, true)
+                .build();
+
+        final var podSelector = Map.of("component", "executor", Constants.PART_OF_LABEL, "test-app");
+
+        final var preferred = podSpec.getAffinity().getPodAntiAffinity().getPreferredDuringSchedulingIgnoredDuringExecution();
+        assertEquals(1, preferred.size());
+        assertEquals(Constants.TOPOLOGY_KEY_HOSTNAME, preferred.get(0).getPodAffinityTerm().getTopologyKey());
+        assertEquals(podSelector, preferred.get(0).getPodAffinityTerm().getLabelSelector().getMatchLabels());
+
+        final var spreadConstraints = podSpec.getTopologySpreadConstraints();
+        assertEquals(1, spreadConstraints.size());
+        assertEquals(Constants.TOPOLOGY_KEY_ZONE, spreadConstraints.get(0).getTopologyKey());
+        assertEquals("ScheduleAnyway", spreadConstraints.get(0).getWhenUnsatisfiable());
+        assertEquals(podSelector, spreadConstraints.get(0).getLabelSelector().getMatchLabels());
+
+        final var required = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "web", WindupSpec.PlacementSpec.builder()
+                .antiAffinity(Constants.ANTI_AFFINITY_REQUIRED)
+                .build(), Constants.ANTI_AFFINITY_PREFERRED, false
+        ).build();
+        assertEquals(1, required.getAffinity().getPodAntiAffinity().getRequiredDuringSchedulingIgnoredDuringExecution().size());
+        assertTrue(required.getTopologySpreadConstraints() == null || required.getTopologySpreadConstraints().isEmpty());
+
+        final var none = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "web", null, Constants.ANTI_AFFINITY_NONE, false)
+                .build();
+        assertNull(none.getAffinity());
+    }
+
+    @Test
+    public void specAffinityShouldReplaceTheDefaultAntiAffinity() {
+        final var podAntiAffinity = new PodAntiAffinityBuilder()
+                .addNewRequiredDuringSchedulingIgnoredDuringExecution()
+                .withTopologyKey(Constants.TOPOLOGY_KEY_ZONE)
+                .withNewLabelSelector()
+                .addToMatchLabels("app", "other")
+                .endLabelSelector()
+                .endRequiredDuringSchedulingIgnoredDuringExecution()
+                .build();
+        final var nodeAffinity = new NodeAffinityBuilder()
+                .withNewRequiredDuringSchedulingIgnoredDuringExecution()
+                .addNewNodeSelectorTerm()
+                .addNewMatchExpression()
+                .withKey("node-role")
+                .withOperator("In")
+                .withValues("analysis")
+                .endMatchExpression()
+                .endNodeSelectorTerm()
+                .endRequiredDuringSchedulingIgnoredDuringExecution()
+                .build();
+
+        final var overridden = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "executor", WindupSpec.PlacementSpec.builder()
+                .affinity(new AffinityBuilder().withPodAntiAffinity(podAntiAffinity).build())
+                .build(), Constants.ANTI_AFFINITY_PREFERRED, true
+        ).build();
+        assertEquals(podAntiAffinity, overridden.getAffinity().getPodAntiAffinity());
+
+        // An affinity without anti-affinity keeps the default one
+        final var completed = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "executor", WindupSpec.PlacementSpec.builder()
+                .affinity(new AffinityBuilder().withNodeAffinity(nodeAffinity).build())
+                .build(), Constants.ANTI_AFFINITY_PREFERRED, true
+        ).build();
+        assertEquals(nodeAffinity, completed.getAffinity().getNodeAffinity());
+        assertEquals(1, completed.getAffinity().getPodAntiAffinity().getPreferredDuringSchedulingIgnoredDuringExecution().size());
+    }
+
+    @Test
+    public void nodeSelectorAndTolerationsShouldBePassedThrough() {
+        final var toleration = new TolerationBuilder()
+                .withKey("dedicated")
+                .withOperator("Equal")
+                .withValue("windup")
+                .withEffect("NoSchedule")
+                .build();
+        final var spreadConstraint = new TopologySpreadConstraintBuilder()
+                .withMaxSkew(2)
+                .withTopologyKey(Constants.TOPOLOGY_KEY_HOSTNAME)
+                .withWhenUnsatisfiable("DoNotSchedule")
+                .build();
+
+        final var podSpec = WindupDeploymentBase.withPlacement(new PodSpecBuilder(), cr, "executor", WindupSpec.PlacementSpec.builder()
+                .nodeSelector(Map.of("node-role", "analysis"))
+                .tolerations(List.of(toleration))
+                .topologySpreadConstraints(List.of(spreadConstraint))
+                .build(), Constants.ANTI_AFFINITY_PREFERRED, true
+        ).build();
+
+        assertEquals(Map.of("node-role", "analysis"), podSpec.getNodeSelector());
+        assertEquals(List.of(toleration), podSpec.getTolerations());
+        assertEquals(List.of(spreadConstraint), podSpec.getTopologySpreadConstraints());
+    }
+
+    private double getUpdates(String outcome) {
+        final var counter = registry.find("windup.operator.dependent.updates")
+                .tags("dependent", TestDeployment.NAME, "outcome", outcome)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static String getSpecHash(Deployment deployment) {
+        return deployment.getMetadata().getAnnotations().get(Constants.SPEC_HASH_ANNOTATION);
+    }
+
+    static class TestDeployment extends WindupDeploymentBase {
+
+        static final String NAME = "test-deployment";
+
+        int replicas = 1;
+
+        TestDeployment() {
+            super(NAME);
+        }
+
+        @Override
+        protected Deployment newDeployment(Windup cr, Context<Windup> context) {
+            return new DeploymentBuilder()
+                    .withNewMetadata()
+                    .withName(cr.getMetadata().getName() + "-test")
+                    .withNamespace(cr.getMetadata().getNamespace())
+                    .withLabels(Map.of("component", "test"))
+                    .endMetadata()
+                    .withNewSpec()
+                    .withReplicas(replicas)
+                    .withNewSelector()
+                    .withMatchLabels(Map.of("component", "test"))
+                    .endSelector()
+                    .withNewTemplate()
+                    .withNewMetadata()
+                    .withLabels(Map.of("component", "test"))
+                    .endMetadata()
+                    .withNewSpec()
+                    .addNewContainer()
+                    .withName("test")
+                    .withImage("test:latest")
+                    .endContainer()
+                    .endSpec()
+                    .endTemplate()
+                    .endSpec()
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.ReconcileConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnableKubernetesMockClient(crud = true)
+public class ClusterDomainCacheTest {
+
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    private static final CustomResourceDefinitionContext CLUSTER_INGRESS_CONTEXT = new CustomResourceDefinitionContext.Builder()
+            .withName("Ingress")
+            .withGroup("config.openshift.io")
+            .withVersion("v1")
+            .withPlural("ingresses")
+            .withScope("Cluster")
+            .build();
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private SimpleMeterRegistry registry;
+    private ClusterDomainCache cache;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        cache = new ClusterDomainCache();
+        cache.k8sClient = client;
+        cache.metrics = new WindupMetrics();
+        cache.metrics.registry = registry;
+        cache.config = new ReconcileConfig() {
+            @Override
+            public Duration readinessInitialBackoff() {
+                return Duration.ofSeconds(10);
+            }
+
+            @Override
+            public Duration readinessMaxBackoff() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public double readinessBackoffMultiplier() {
+                return 2;
+            }
+
+            @Override
+            public Duration clusterDomainNegativeCacheTtl() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration storageClassCacheTtl() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public int rateLimitMaxReconciliations() {
+                return 5;
+            }
+
+            @Override
+            public Duration rateLimitPeriod() {
+                return Duration.ofSeconds(1);
+            }
+        };
+        at(START);
+    }
+
+    @AfterEach
+    public void close() {
+        cache.close();
+    }
+
+    @Test
+    public void domainShouldBeReadOnceWhileWatched() {
+        client.genericKubernetesResources(CLUSTER_INGRESS_CONTEXT).resource(clusterIngress("apps.example.com")).create();
+
+        assertEquals(Optional.of("apps.example.com"), cache.getClusterDomain());
+        // The watch starts from the version that was read, its events do not invalidate the domain
+        at(START.plus(Duration.ofHours(1)));
+        assertEquals(Optional.of("apps.example.com"), cache.getClusterDomain());
+        assertEquals(Optional.of("apps.example.com"), cache.getClusterDomain());
+
+        assertEquals(1, getLookups("miss"));
+        assertEquals(2, getLookups("hit"));
+    }
+
+    @Test
+    public void changedDomainShouldInvalidateTheCache() {
+        client.genericKubernetesResources(CLUSTER_INGRESS_CONTEXT).resource(clusterIngress("apps.example.com")).create();
+        assertEquals(Optional.of("apps.example.com"), cache.getClusterDomain());
+
+        client.genericKubernetesResources(CLUSTER_INGRESS_CONTEXT).resource(clusterIngress("apps.example.org")).createOrReplace();
+
+        await().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertEquals(Optional.of("apps.example.org"), cache.getClusterDomain()));
+        assertEquals(2, getLookups("miss"));
+    }
+
+    @Test
+    public void missingDomainShouldBeCachedForTheNegativeTtl() {
+        assertEquals(Optional.empty(), cache.getClusterDomain());
+
+        at(START.plus(Duration.ofMinutes(9)));
+        assertEquals(Optional.empty(), cache.getClusterDomain());
+        assertEquals(1, getLookups("miss"));
+        assertEquals(1, getLookups("hit"));
+
+        client.genericKubernetesResources(CLUSTER_INGRESS_CONTEXT).resource(clusterIngress("apps.example.com")).create();
+        at(START.plus(Duration.ofMinutes(10)));
+        assertEquals(Optional.of("apps.example.com"), cache.getClusterDomain());
+        assertEquals(2, getLookups("miss"));
+    }
+
+    private double getLookups(String result) {
+        final var counter = registry.find(WindupMetrics.PREFIX + "cluster.domain.cache")
+                .tags("result", result)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private void at(Instant instant) {
+        cache.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static GenericKubernetesResource clusterIngress(String domain) {
+        return new GenericKubernetesResourceBuilder()
+                .withApiVersion("config.openshift.io/v1")
+                .withKind("Ingress")
+                .withNewMetadata()
+                .withName("cluster")
+                .endMetadata()
+                .withAdditionalProperties(Map.of("spec", Map.of("domain", domain)))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatusCondition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentReadinessTest {
+
+    private ComponentReadiness componentReadiness;
+    private Windup cr;
+
+    @BeforeEach
+    public void setup() {
+        componentReadiness = new ComponentReadiness();
+        componentReadiness.metrics = new WindupMetrics();
+        componentReadiness.metrics.registry = new SimpleMeterRegistry();
+
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .withGeneration(2L)
+                .build()
+        );
+    }
+
+    @Test
+    public void shouldMeasureTimeToReadyOnTransition() {
+        var start = Instant.parse("2023-01-01T00:00:00Z");
+
+        var notReady = componentReadiness.next(cr, readiness(false), null, start);
+        assertFalse(notReady.getStatus());
+        assertEquals(2L, notReady.getObservedGeneration());
+        assertEquals(start.toString(), notReady.getLastTransitionTime());
+        assertNull(notReady.getTimeToReadySeconds());
+
+        var ready = componentReadiness.next(cr, readiness(true), notReady, start.plusSeconds(95));
+        assertTrue(ready.getStatus());
+        assertEquals(start.plusSeconds(95).toString(), ready.getLastTransitionTime());
+        assertEquals(95L, ready.getTimeToReadySeconds());
+    }
+
+    @Test
+    public void unchangedReadinessShouldKeepTheCondition() {
+        var start = Instant.parse("2023-01-01T00:00:00Z");
+        var notReady = componentReadiness.next(cr, readiness(false), null, start);
+        var ready = componentReadiness.next(cr, readiness(true), notReady, start.plusSeconds(95));
+
+        assertEquals(ready, componentReadiness.next(cr, readiness(true), ready, start.plusSeconds(600)));
+    }
+
+    @Test
+    public void deploymentScaledToZeroShouldBeReady() {
+        var deployment = new DeploymentBuilder()
+                .withNewSpec()
+                .withReplicas(0)
+                .endSpec()
+                .build();
+
+        assertTrue(ComponentReadiness.deploymentReadiness(WindupStatusCondition.EXECUTOR_READY, Optional.of(deployment)).ready());
+        assertFalse(ComponentReadiness.deploymentReadiness(WindupStatusCondition.EXECUTOR_READY, Optional.empty()).ready());
+    }
+
+    private static ComponentReadiness.Readiness readiness(boolean ready) {
+        return new ComponentReadiness.Readiness(WindupStatusCondition.WEB_CONSOLE_READY, ready, ready ? "ReplicasReady" : "ReplicasNotReady", null);
+    }
+}
@@ -0,0 +1,175 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ContainerState;
+import io.fabric8.kubernetes.api.model.ContainerStateBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBRestoreJob;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DatabaseDumpTrackerTest {
+
+    private DatabaseDumpTracker tracker;
+    private SimpleMeterRegistry registry;
+    private Windup cr;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        tracker = new DatabaseDumpTracker();
+        tracker.metrics = new WindupMetrics();
+        tracker.metrics.registry = registry;
+
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+    }
+
+    @Test
+    public void succeededDumpReportsDurationAndThroughput() {
+        var status = DatabaseDumpTracker.getDumpStatus(terminated(0, "{\"dump\":\"windup-20230101020000\",\"bytes\":6000000000}"));
+
+        assertEquals(Constants.DB_DUMP_STATE_SUCCEEDED, status.getState());
+        assertEquals("windup-20230101020000", status.getDump());
+        assertEquals(600L, status.getDurationSeconds());
+        assertEquals(6_000_000_000L, status.getSizeBytes());
+        assertEquals(10_000_000L, status.getThroughputBytesPerSecond());
+    }
+
+    @Test
+    public void failedDumpHasNoSize() {
+        var status = DatabaseDumpTracker.getDumpStatus(terminated(1, "pg_dump: error: connection failed"));
+
+        assertEquals(Constants.DB_DUMP_STATE_FAILED, status.getState());
+        assertEquals(600L, status.getDurationSeconds());
+        assertNull(status.getSizeBytes());
+        assertNull(status.getThroughputBytesPerSecond());
+    }
+
+    @Test
+    public void runningDump() {
+        var status = DatabaseDumpTracker.getDumpStatus(pod(new ContainerStateBuilder()
+                .withNewRunning("2023-01-01T02:00:00Z")
+                .build()
+        ));
+
+        assertEquals(Constants.DB_DUMP_STATE_RUNNING, status.getState());
+        assertEquals("2023-01-01T02:00:00Z", status.getStartedAt());
+    }
+
+    @Test
+    public void completedDumpIsRecordedOnce() {
+        var running = WindupStatus.DatabaseDumpStatus.builder()
+                .pod("test-app-postgresql-backup-1")
+                .state(Constants.DB_DUMP_STATE_RUNNING)
+                .build();
+        var succeeded = DatabaseDumpTracker.getDumpStatus(terminated(0, "{\"dump\":\"windup-20230101020000\",\"bytes\":1024}"));
+
+        tracker.next(cr, DatabaseDumpTracker.BACKUP, running, null);
+        var previous = tracker.next(cr, DatabaseDumpTracker.BACKUP, succeeded, running);
+        tracker.next(cr, DatabaseDumpTracker.BACKUP, succeeded, previous);
+
+        assertEquals(1L, registry.get(WindupMetrics.PREFIX + "database.dump.duration").timer().count());
+        assertEquals(1024.0, registry.get(WindupMetrics.PREFIX + "database.dump.size").summary().totalAmount());
+    }
+
+    @Test
+    public void finishedRestoreIsRecordedWithItsSpecHash() {
+        setRestoreSpec();
+        var specHash = DBRestoreJob.getSpecHash(cr);
+        var failed = DatabaseDumpTracker.getDumpStatus(terminated(1, "pg_restore: error: could not open input file"));
+
+        var status = DatabaseDumpTracker.withRestoreOutcome(cr, failed, restoreJob(specHash, false));
+        assertNull(status.getSpecHash());
+
+        status = DatabaseDumpTracker.withRestoreOutcome(cr, failed, restoreJob(specHash, true));
+        assertEquals(Constants.DB_DUMP_STATE_FAILED, status.getState());
+        assertEquals(specHash, status.getSpecHash());
+        assertEquals("test-app-postgresql-backup-1", status.getPod());
+
+        // Kept while the pods outlive the deleted Job
+        cr.getStatus().setRestore(status);
+        assertEquals(specHash, DatabaseDumpTracker.withRestoreOutcome(cr, failed, null).getSpecHash());
+    }
+
+    @Test
+    public void recordedRestoreIsForgottenWithTheRestoreSpec() {
+        var recorded = WindupStatus.DatabaseDumpStatus.builder()
+                .state(Constants.DB_DUMP_STATE_SUCCEEDED)
+                .specHash("hash")
+                .build();
+
+        var status = DatabaseDumpTracker.withRestoreOutcome(cr, recorded, null);
+
+        assertEquals(Constants.DB_DUMP_STATE_SUCCEEDED, status.getState());
+        assertNull(status.getSpecHash());
+    }
+
+    private void setRestoreSpec() {
+        cr.getSpec().setDatabaseSpec(WindupSpec.DatabaseSpec.builder()
+                .restoreSpec(WindupSpec.RestoreSpec.builder().build())
+                .build()
+        );
+        cr.setStatus(new WindupStatus());
+    }
+
+    private static Job restoreJob(String specHash, boolean failed) {
+        return new JobBuilder()
+                .withNewMetadata()
+                .withName("test-app" + Constants.DB_RESTORE_JOB_SUFFIX)
+                .addToAnnotations(Constants.SPEC_HASH_ANNOTATION, specHash)
+                .endMetadata()
+                .withNewStatus()
+                .addNewCondition()
+                .withType("Failed")
+                .withStatus(failed ? "True" : "False")
+                .endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static Pod terminated(int exitCode, String message) {
+        return pod(new ContainerStateBuilder()
+                .withNewTerminated()
+                .withExitCode(exitCode)
+                .withStartedAt("2023-01-01T02:00:00Z")
+                .withFinishedAt("2023-01-01T02:10:00Z")
+                .withMessage(message)
+                .endTerminated()
+                .build()
+        );
+    }
+
+    private static Pod pod(ContainerState state) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("test-app-postgresql-backup-1")
+                .withNamespace("test")
+                .addToLabels("component", DatabaseDumpTracker.BACKUP)
+                .endMetadata()
+                .withNewStatus()
+                .addToContainerStatuses(new ContainerStatusBuilder()
+                        .withName(Constants.WINDUP_DB_NAME)
+                        .withState(state)
+                        .build()
+                )
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,284 @@
+package org.jboss.windup.operator.controllers;
+
+import com.sun.net.httpserver.HttpServer;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.jboss.windup.operator.AutoscalerConfig;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ExecutorAutoscalerTest {
+
+    private HttpServer webConsole;
+    private final AtomicReference<String> pendingAnalysesResponse = new AtomicReference<>("0");
+
+    private ExecutorAutoscaler autoscaler;
+    private Instant now;
+    private Windup cr;
+
+    @BeforeEach
+    public void startWebConsole() throws IOException {
+        // Local stand-in of the Web Console
+        webConsole = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        webConsole.createContext("/executions", exchange -> {
+            byte[] body = pendingAnalysesResponse.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        webConsole.start();
+
+        String webUrl = "http://127.0.0.1:" + webConsole.getAddress().getPort();
+
+        now = Instant.parse("2023-01-01T00:00:00Z");
+        autoscaler = new ExecutorAutoscaler();
+        autoscaler.config = new AutoscalerConfig() {
+            @Override
+            public String webUrl() {
+                return webUrl;
+            }
+
+            @Override
+            public String pendingAnalysesPath() {
+                return "/executions";
+            }
+
+            @Override
+            public List<String> pendingStates() {
+                return List.of("QUEUED", "STARTED");
+            }
+
+            @Override
+            public Duration requestTimeout() {
+                return Duration.ofSeconds(5);
+            }
+        };
+        autoscaler.init();
+        // Polls run on the calling thread unless a test queues them
+        autoscaler.pollExecutor = Runnable::run;
+    }
+
+    @AfterEach
+    public void stopWebConsole() {
+        webConsole.stop(0);
+    }
+
+    @Test
+    public void disabledAutoscalingShouldUseExecutorInstances() {
+        newWindup(null);
+        cr.getSpec().setExecutorInstances(3);
+
+        assertEquals(3, autoscaler.getReplicas(cr));
+        assertEquals(Optional.empty(), evaluateAt(0));
+        assertNull(autoscaler.getStatus(cr));
+    }
+
+    @Test
+    public void shouldScaleWithPendingAnalysesWithinBounds() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(1)
+                .maxInstances(4)
+                .analysesPerInstance(2)
+                .pollIntervalSeconds(10)
+                .scaleUpCooldownSeconds(0)
+                .scaleDownCooldownSeconds(0)
+                .build()
+        );
+
+        pendingAnalysesResponse.set("5");
+        evaluateAt(0);
+        assertEquals(3, autoscaler.getReplicas(cr));
+
+        pendingAnalysesResponse.set("[" +
+                "{\"id\":1,\"state\":\"QUEUED\"}," +
+                "{\"id\":2,\"state\":\"COMPLETED\"}," +
+                "{\"id\":3,\"state\":\"STARTED\"}," +
+                "{\"id\":4}," +
+                "{\"id\":5,\"state\":null}" +
+                "]");
+        evaluateAt(10);
+        assertEquals(1, autoscaler.getReplicas(cr));
+
+        pendingAnalysesResponse.set("100");
+        evaluateAt(20);
+        assertEquals(4, autoscaler.getReplicas(cr));
+
+        final var status = autoscaler.getStatus(cr);
+        assertNotNull(status);
+        assertEquals(4, status.getReplicas());
+        assertEquals(100, status.getPendingAnalyses());
+        assertNull(status.getMessage());
+    }
+
+    @Test
+    public void shouldRespectPollIntervalAndCooldowns() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(1)
+                .maxInstances(10)
+                .pollIntervalSeconds(10)
+                .scaleUpCooldownSeconds(60)
+                .scaleDownCooldownSeconds(300)
+                .build()
+        );
+
+        pendingAnalysesResponse.set("2");
+        evaluateAt(0);
+        assertEquals(2, autoscaler.getReplicas(cr));
+
+        // Poll interval not elapsed
+        pendingAnalysesResponse.set("6");
+        assertEquals(Optional.of(Duration.ofSeconds(5)), evaluateAt(5));
+        assertEquals(2, autoscaler.getReplicas(cr));
+
+        // Scale up cooldown not elapsed
+        evaluateAt(30);
+        assertEquals(2, autoscaler.getReplicas(cr));
+        evaluateAt(60);
+        assertEquals(6, autoscaler.getReplicas(cr));
+
+        // Scale down cooldown not elapsed
+        pendingAnalysesResponse.set("0");
+        evaluateAt(120);
+        assertEquals(6, autoscaler.getReplicas(cr));
+        evaluateAt(360);
+        assertEquals(1, autoscaler.getReplicas(cr));
+    }
+
+    @Test
+    public void shouldNotScaleDownBelowBusyExecutors() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(1)
+                .maxInstances(4)
+                .pollIntervalSeconds(10)
+                .scaleUpCooldownSeconds(0)
+                .scaleDownCooldownSeconds(0)
+                .build()
+        );
+
+        pendingAnalysesResponse.set("4");
+        evaluateAt(0);
+        assertEquals(4, autoscaler.getReplicas(cr));
+
+        // The analyses are picked up, three executors are still running one
+        pendingAnalysesResponse.set("0");
+        evaluateAt(10, 3);
+        assertEquals(3, autoscaler.getReplicas(cr));
+        assertEquals(3, autoscaler.getStatus(cr).getBusyExecutors());
+
+        evaluateAt(20, 0);
+        assertEquals(1, autoscaler.getReplicas(cr));
+    }
+
+    @Test
+    public void unexpectedWebConsoleResponseShouldKeepReplicas() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(2)
+                .maxInstances(4)
+                .build()
+        );
+
+        pendingAnalysesResponse.set("<html></html>");
+        evaluateAt(0);
+
+        assertEquals(2, autoscaler.getReplicas(cr));
+        assertNotNull(autoscaler.getStatus(cr).getMessage());
+    }
+
+    @Test
+    public void pollShouldNotBlockTheReconcile() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(1)
+                .maxInstances(4)
+                .pollIntervalSeconds(10)
+                .scaleUpCooldownSeconds(0)
+                .scaleDownCooldownSeconds(0)
+                .build()
+        );
+        List<Runnable> pendingPolls = new ArrayList<>();
+        autoscaler.pollExecutor = pendingPolls::add;
+
+        pendingAnalysesResponse.set("3");
+        assertEquals(Optional.of(Duration.ofSeconds(1)), evaluateAt(0));
+        assertEquals(1, autoscaler.getReplicas(cr));
+
+        // A poll in flight is not started again
+        evaluateAt(1);
+        assertEquals(1, pendingPolls.size());
+
+        pendingPolls.remove(0).run();
+        evaluateAt(2);
+        assertEquals(3, autoscaler.getReplicas(cr));
+        assertEquals(Optional.of(Duration.ofSeconds(8)), evaluateAt(2));
+    }
+
+    @Test
+    public void stateShouldStartFromTheRunningReplicas() {
+        newWindup(WindupSpec.ExecutorAutoscalingSpec.builder()
+                .enabled(true)
+                .minInstances(1)
+                .maxInstances(8)
+                .build()
+        );
+
+        // Running Deployment first, then the status, then the spec
+        cr.setStatus(WindupStatus.builder()
+                .executorAutoscaling(WindupStatus.ExecutorAutoscalingStatus.builder()
+                        .replicas(4)
+                        .build()
+                )
+                .build()
+        );
+        assertEquals(6, ExecutorAutoscaler.getInitialReplicas(cr, 6));
+        assertEquals(4, ExecutorAutoscaler.getInitialReplicas(cr, null));
+        assertEquals(4, autoscaler.getReplicas(cr));
+
+        cr.setStatus(null);
+        assertEquals(1, ExecutorAutoscaler.getInitialReplicas(cr, null));
+    }
+
+    private void newWindup(WindupSpec.ExecutorAutoscalingSpec autoscalingSpec) {
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setExecutorAutoscalingSpec(autoscalingSpec);
+    }
+
+    private Optional<Duration> evaluateAt(long seconds) {
+        return evaluateAt(seconds, 0);
+    }
+
+    private Optional<Duration> evaluateAt(long seconds, int busyExecutors) {
+        autoscaler.clock = Clock.fixed(now.plusSeconds(seconds), ZoneOffset.UTC);
+        return autoscaler.evaluate(cr, busyExecutors);
+    }
+}
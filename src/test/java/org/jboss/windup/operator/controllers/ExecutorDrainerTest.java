@@ -0,0 +1,184 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableKubernetesMockClient(crud = true)
+public class ExecutorDrainerTest {
+
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    KubernetesClient client;
+
+    private ExecutorDrainer drainer;
+    private final List<String> probedPods = new ArrayList<>();
+    private final Set<String> busyPods = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> pendingProbes = new ArrayList<>();
+    private Windup cr;
+
+    @BeforeEach
+    public void setup() {
+        drainer = new ExecutorDrainer() {
+            @Override
+            boolean probe(Pod pod, List<String> busyProbeCommand) {
+                probedPods.add(pod.getMetadata().getName());
+                return busyPods.contains(pod.getMetadata().getName());
+            }
+        };
+        drainer.k8sClient = client;
+        drainer.probeExecutor = pendingProbes::add;
+        at(START);
+
+        cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+    }
+
+    @Test
+    public void annotatedPodsShouldNotBeProbed() {
+        withBusyProbeCommand();
+        final var busy = create(executor("executor-1", "true"));
+        final var idle = create(executor("executor-2", "false"));
+
+        assertEquals(1, drainer.evaluate(cr, List.of(busy, idle)));
+        assertTrue(pendingProbes.isEmpty());
+        assertEquals("1000", deletionCost("executor-1"));
+        assertEquals("0", deletionCost("executor-2"));
+    }
+
+    @Test
+    public void probesShouldRunOffTheReconcileOncePerInterval() {
+        withBusyProbeCommand();
+        final var pod = create(executor("executor-1", null));
+        busyPods.add("executor-1");
+
+        // Not probed yet, the reconcile does not wait for it
+        assertEquals(0, drainer.evaluate(cr, List.of(pod)));
+        assertEquals(List.of(), probedPods);
+        assertEquals(1, pendingProbes.size());
+
+        // A probe is already in flight
+        drainer.evaluate(cr, List.of(pod));
+        assertEquals(1, pendingProbes.size());
+
+        runPendingProbes();
+        assertEquals("1000", deletionCost("executor-1"));
+        assertEquals(1, drainer.evaluate(cr, List.of(pod)));
+        assertTrue(pendingProbes.isEmpty());
+
+        // Probed again once the poll interval elapsed
+        busyPods.clear();
+        at(START.plusSeconds(Constants.EXECUTOR_AUTOSCALING_POLL_INTERVAL_SECONDS));
+        assertEquals(1, drainer.evaluate(cr, List.of(pod)));
+        runPendingProbes();
+        assertEquals(List.of("executor-1", "executor-1"), probedPods);
+        assertEquals("0", deletionCost("executor-1"));
+        assertEquals(0, drainer.evaluate(cr, List.of(pod)));
+    }
+
+    @Test
+    public void probeDelayShouldOnlyBeSetWithAProbeCommand() {
+        assertEquals(Optional.empty(), drainer.getProbeDelay(cr));
+
+        withBusyProbeCommand();
+        assertEquals(Optional.of(Duration.ofSeconds(Constants.EXECUTOR_AUTOSCALING_POLL_INTERVAL_SECONDS)), drainer.getProbeDelay(cr));
+    }
+
+    @Test
+    public void deletionCostUpdatesShouldBeRecognized() {
+        final var pod = executor("executor-1", null);
+        final var withDeletionCost = new PodBuilder(pod)
+                .editMetadata()
+                .addToAnnotations(Constants.POD_DELETION_COST_ANNOTATION, "1000")
+                .withResourceVersion("2")
+                .endMetadata()
+                .build();
+        final var markedBusy = new PodBuilder(pod)
+                .editMetadata()
+                .addToAnnotations(Constants.EXECUTOR_BUSY_ANNOTATION, "true")
+                .endMetadata()
+                .build();
+        final var notReady = new PodBuilder(withDeletionCost)
+                .editStatus()
+                .withPhase("Pending")
+                .endStatus()
+                .build();
+
+        assertTrue(ExecutorDrainer.isDeletionCostUpdate(withDeletionCost, pod));
+        assertFalse(ExecutorDrainer.isDeletionCostUpdate(markedBusy, pod));
+        assertFalse(ExecutorDrainer.isDeletionCostUpdate(notReady, pod));
+        assertFalse(ExecutorDrainer.isDeletionCostUpdate(pod, pod));
+    }
+
+    private void withBusyProbeCommand() {
+        cr.getSpec().setExecutorDrainSpec(WindupSpec.ExecutorDrainSpec.builder()
+                .busyProbeCommand(List.of("test", "-f", "/tmp/busy"))
+                .build()
+        );
+    }
+
+    private void runPendingProbes() {
+        final var probes = new ArrayList<>(pendingProbes);
+        pendingProbes.clear();
+        probes.forEach(Runnable::run);
+    }
+
+    private void at(Instant instant) {
+        drainer.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private Pod create(Pod pod) {
+        return client.pods().resource(pod).create();
+    }
+
+    private String deletionCost(String name) {
+        return Optional.ofNullable(client.pods().inNamespace("test").withName(name).get().getMetadata().getAnnotations())
+                .map(annotations -> annotations.get(Constants.POD_DELETION_COST_ANNOTATION))
+                .orElse("0");
+    }
+
+    private static Pod executor(String name, String busyAnnotation) {
+        final var builder = new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("test")
+                .withUid(name + "-uid")
+                .addToLabels("component", "executor")
+                .addToLabels(Constants.PART_OF_LABEL, "test-app")
+                .endMetadata()
+                .withNewStatus()
+                .withPhase("Running")
+                .endStatus();
+        if (busyAnnotation != null) {
+            builder.editMetadata()
+                    .addToAnnotations(Constants.EXECUTOR_BUSY_ANNOTATION, busyAnnotation)
+                    .endMetadata();
+        }
+        return builder.build();
+    }
+}
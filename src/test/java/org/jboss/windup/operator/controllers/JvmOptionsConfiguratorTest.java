@@ -0,0 +1,82 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JvmOptionsConfiguratorTest {
+
+    @Test
+    public void defaultLimitsShouldProduceDefaultOptions() {
+        final var envVars = toMap(new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.WEB, null, null));
+
+        // 4 CPUs and 4Gi of memory
+        assertEquals("70", envVars.get("JAVA_MAX_MEM_RATIO"));
+        assertEquals("512", envVars.get("GC_MAX_METASPACE_SIZE"));
+        assertEquals("-XX:+UseG1GC", envVars.get("GC_CONTAINER_OPTIONS"));
+        assertEquals("-XX:ActiveProcessorCount=4 -XX:ParallelGCThreads=4 -XX:ConcGCThreads=1", envVars.get("JAVA_OPTS_APPEND"));
+    }
+
+    @Test
+    public void optionsShouldFollowWorkloadAndLimits() {
+        final var executor = new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.EXECUTOR, limits("8", "16Gi"), null);
+        assertEquals("PARALLEL", executor.getGc());
+        assertEquals(75, executor.getMaxHeapPercentage());
+        assertEquals(1024, executor.getMaxMetaspaceSizeMb());
+
+        // The Web Console images run JDK 8 or 11, G1 even with a large heap
+        final var largeWeb = toMap(new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.WEB, limits("8", "32Gi"), null));
+        assertEquals("75", largeWeb.get("JAVA_MAX_MEM_RATIO"));
+        assertEquals("-XX:+UseG1GC", largeWeb.get("GC_CONTAINER_OPTIONS"));
+
+        final var smallExecutor = toMap(new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.EXECUTOR, limits("500m", "1Gi"), null));
+        assertEquals("50", smallExecutor.get("JAVA_MAX_MEM_RATIO"));
+        assertEquals("256", smallExecutor.get("GC_MAX_METASPACE_SIZE"));
+        assertEquals("-XX:+UseSerialGC", smallExecutor.get("GC_CONTAINER_OPTIONS"));
+        assertEquals("-XX:ActiveProcessorCount=1", smallExecutor.get("JAVA_OPTS_APPEND"));
+    }
+
+    @Test
+    public void specShouldOverrideComputedOptions() {
+        final var envVars = toMap(new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.EXECUTOR, null, WindupSpec.JvmSpec.builder()
+                .maxHeapPercentage(60)
+                .gc("g1")
+                .gcThreads(2)
+                .maxMetaspaceSizeMb(768)
+                .additionalOptions("-XX:+ExitOnOutOfMemoryError")
+                .build()
+        ));
+
+        assertEquals("60", envVars.get("JAVA_MAX_MEM_RATIO"));
+        assertEquals("768", envVars.get("GC_MAX_METASPACE_SIZE"));
+        assertEquals("-XX:+UseG1GC", envVars.get("GC_CONTAINER_OPTIONS"));
+        assertEquals("-XX:ActiveProcessorCount=4 -XX:ParallelGCThreads=2 -XX:ConcGCThreads=1 -XX:+ExitOnOutOfMemoryError", envVars.get("JAVA_OPTS_APPEND"));
+    }
+
+    @Test
+    public void zgcShouldOnlyBeUsedWhenSetInTheSpec() {
+        final var envVars = toMap(new JvmOptionsConfigurator(JvmOptionsConfigurator.Workload.WEB, limits("8", "32Gi"), WindupSpec.JvmSpec.builder()
+                .gc("zgc")
+                .build()
+        ));
+
+        assertEquals("-XX:+UnlockExperimentalVMOptions -XX:+UseZGC", envVars.get("GC_CONTAINER_OPTIONS"));
+    }
+
+    private static WindupSpec.ResourcesLimitSpec limits(String cpu, String memory) {
+        return WindupSpec.ResourcesLimitSpec.builder()
+                .cpuLimit(cpu)
+                .memoryLimit(memory)
+                .build();
+    }
+
+    private static Map<String, String> toMap(JvmOptionsConfigurator configurator) {
+        return configurator.getEnvVars().stream()
+                .collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+    }
+}
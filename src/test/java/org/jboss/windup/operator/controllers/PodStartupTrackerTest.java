@@ -0,0 +1,43 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PodStartupTrackerTest {
+
+    @Test
+    public void readyPodShouldReportTimeToReady() {
+        var startup = PodStartupTracker.getPodStartup(pod("True")).orElseThrow();
+
+        assertEquals("executor", startup.status().getComponent());
+        assertEquals(35L, startup.status().getTimeToReadySeconds());
+        assertEquals("2023-01-01T00:00:35Z", startup.status().getReadyAt());
+    }
+
+    @Test
+    public void notReadyPodShouldBeIgnored() {
+        assertTrue(PodStartupTracker.getPodStartup(pod("False")).isEmpty());
+    }
+
+    private static Pod pod(String ready) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("test-app-windup-executor-1")
+                .withUid("1")
+                .withCreationTimestamp("2023-01-01T00:00:00Z")
+                .addToLabels("component", "executor")
+                .endMetadata()
+                .withNewStatus()
+                .addNewCondition()
+                .withType("Ready")
+                .withStatus(ready)
+                .withLastTransitionTime("2023-01-01T00:00:35Z")
+                .endCondition()
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PostgreSQLConfiguratorTest {
+
+    @Test
+    public void defaultLimitsShouldProduceDefaultTuning() {
+        Windup cr = newWindup(null);
+
+        final var parameters = new PostgreSQLConfigurator(cr).getParameters();
+
+        // 2Gi of memory and 2 CPUs
+        assertEquals("200", parameters.get("max_connections"));
+        assertEquals("200", parameters.get("max_prepared_transactions"));
+        assertEquals("512MB", parameters.get("shared_buffers"));
+        assertEquals("1536MB", parameters.get("effective_cache_size"));
+        assertEquals("128MB", parameters.get("maintenance_work_mem"));
+        assertEquals("4MB", parameters.get("work_mem"));
+        assertEquals("2", parameters.get("max_parallel_workers"));
+        assertEquals("1", parameters.get("max_parallel_workers_per_gather"));
+        // 10G volume
+        assertEquals("596MB", parameters.get("min_wal_size"));
+        assertEquals("2384MB", parameters.get("max_wal_size"));
+    }
+
+    @Test
+    public void walSizeShouldFollowTheVolumeSize() {
+        Windup small = newWindup(WindupSpec.DatabaseSpec.builder()
+                .size("0.5Gi")
+                .build()
+        );
+        Windup large = newWindup(WindupSpec.DatabaseSpec.builder()
+                .size("100Gi")
+                .build()
+        );
+
+        final var smallParameters = new PostgreSQLConfigurator(small).getParameters();
+        final var largeParameters = new PostgreSQLConfigurator(large).getParameters();
+
+        assertEquals("32MB", smallParameters.get("min_wal_size"));
+        assertEquals("128MB", smallParameters.get("max_wal_size"));
+        assertEquals("1024MB", largeParameters.get("min_wal_size"));
+        assertEquals("4096MB", largeParameters.get("max_wal_size"));
+    }
+
+    @Test
+    public void tuningShouldFollowResourceLimitsAndExecutors() {
+        Windup cr = newWindup(WindupSpec.DatabaseSpec.builder()
+                .resourceLimitSpec(WindupSpec.ResourcesLimitSpec.builder()
+                        .cpuLimit("3500m")
+                        .memoryLimit("8Gi")
+                        .build()
+                )
+                .build()
+        );
+        cr.getSpec().setExecutorInstances(10);
+
+        final var parameters = new PostgreSQLConfigurator(cr).getParameters();
+
+        assertEquals("250", parameters.get("max_connections"));
+        assertEquals("250", parameters.get("max_prepared_transactions"));
+        assertEquals("2048MB", parameters.get("shared_buffers"));
+        assertEquals("6144MB", parameters.get("effective_cache_size"));
+        assertEquals("4", parameters.get("max_parallel_workers"));
+    }
+
+    @Test
+    public void specParametersShouldOverrideComputedOnes() {
+        Windup cr = newWindup(WindupSpec.DatabaseSpec.builder()
+                .parameters(Map.of(
+                        "shared_buffers", "1GB",
+                        "log_min_duration_statement", "500"
+                ))
+                .build()
+        );
+
+        final var configurator = new PostgreSQLConfigurator(cr);
+
+        assertEquals("1GB", configurator.getParameters().get("shared_buffers"));
+        assertTrue(configurator.getConfigFile().contains("log_min_duration_statement = '500'\n"));
+        assertTrue(configurator.getConfigFile().contains("shared_buffers = '1GB'\n"));
+    }
+
+    private Windup newWindup(WindupSpec.DatabaseSpec databaseSpec) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setDatabaseSpec(databaseSpec);
+        return cr;
+    }
+}
@@ -0,0 +1,93 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QueueWaitTrackerTest {
+
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    private final QueueWaitTracker tracker = new QueueWaitTracker();
+
+    @Test
+    public void waitIsMeasuredFromTheFirstEvent() {
+        var cr = windup(1L);
+
+        at(START);
+        tracker.onEvent(cr);
+        at(START.plusSeconds(2));
+        tracker.onEvent(deployment(cr));
+
+        at(START.plusSeconds(5));
+        assertEquals(Optional.of(Duration.ofSeconds(5)), tracker.onReconcileStart(cr));
+
+        // Rescheduled reconcile, no event is pending
+        assertEquals(Optional.empty(), tracker.onReconcileStart(cr));
+    }
+
+    @Test
+    public void dependentEventsAreMappedToTheirWindup() {
+        var cr = windup(1L);
+        tracker.onReconcileStart(cr);
+
+        at(START);
+        tracker.onEvent(deployment(cr));
+
+        at(START.plusMillis(300));
+        assertEquals(Optional.of(Duration.ofMillis(300)), tracker.onReconcileStart(cr));
+    }
+
+    @Test
+    public void statusUpdatesAreIgnored() {
+        var cr = windup(1L);
+        at(START);
+        tracker.onEvent(cr);
+        tracker.onReconcileStart(cr);
+
+        // Status patched by the reconciler, the generation is unchanged
+        tracker.onEvent(windup(1L));
+        assertEquals(Optional.empty(), tracker.onReconcileStart(cr));
+
+        // Spec changed
+        tracker.onEvent(windup(2L));
+        at(START.plusSeconds(1));
+        assertEquals(Optional.of(Duration.ofSeconds(1)), tracker.onReconcileStart(windup(2L)));
+    }
+
+    private void at(Instant instant) {
+        tracker.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static Windup windup(long generation) {
+        var cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .withGeneration(generation)
+                .build()
+        );
+        return cr;
+    }
+
+    private static Deployment deployment(Windup cr) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName(cr.getMetadata().getName() + "-web")
+                .withNamespace(cr.getMetadata().getNamespace())
+                .addToLabels(Constants.PART_OF_LABEL, cr.getMetadata().getName())
+                .endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.windup.operator.ReconcileConfig;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadinessTrackerTest {
+
+    private ReadinessTracker tracker;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+
+        tracker = new ReadinessTracker();
+        tracker.metrics = new WindupMetrics();
+        tracker.metrics.registry = registry;
+        tracker.config = new ReconcileConfig() {
+            @Override
+            public Duration readinessInitialBackoff() {
+                return Duration.ofSeconds(10);
+            }
+
+            @Override
+            public Duration readinessMaxBackoff() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public double readinessBackoffMultiplier() {
+                return 2;
+            }
+
+            @Override
+            public Duration clusterDomainNegativeCacheTtl() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration storageClassCacheTtl() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public int rateLimitMaxReconciliations() {
+                return 5;
+            }
+
+            @Override
+            public Duration rateLimitPeriod() {
+                return Duration.ofSeconds(1);
+            }
+        };
+    }
+
+    @Test
+    public void backoffShouldDoubleUpToTheMaximum() {
+        final var cr = windup("test-app");
+
+        assertEquals(Duration.ofSeconds(10), tracker.onNotReady(cr));
+        assertEquals(Duration.ofSeconds(20), tracker.onNotReady(cr));
+        assertEquals(Duration.ofSeconds(40), tracker.onNotReady(cr));
+        assertEquals(Duration.ofSeconds(80), tracker.onNotReady(cr));
+        assertEquals(Duration.ofSeconds(160), tracker.onNotReady(cr));
+        assertEquals(Duration.ofMinutes(5), tracker.onNotReady(cr));
+        assertEquals(Duration.ofMinutes(5), tracker.getBackoff(100));
+    }
+
+    @Test
+    public void backoffShouldRestartOnceReady() {
+        final var cr = windup("test-app");
+        tracker.onNotReady(cr);
+        tracker.onNotReady(cr);
+
+        tracker.onReady(cr);
+
+        assertEquals(3, registry.get(WindupMetrics.PREFIX + "reconciles.to.ready").gauge().value());
+        assertEquals(Duration.ofSeconds(10), tracker.onNotReady(cr));
+    }
+
+    @Test
+    public void deletedWindupShouldBeForgotten() {
+        final var deleted = windup("deleted-app");
+        final var other = windup("other-app");
+        tracker.onNotReady(deleted);
+        tracker.onReady(deleted);
+        tracker.onNotReady(other);
+        tracker.onReady(other);
+        tracker.onNotReady(deleted);
+        tracker.metrics.recordApiCall(deleted, "web-deployment", "patch");
+
+        tracker.forget(deleted);
+        tracker.metrics.forget(deleted);
+
+        assertTrue(registry.find(WindupMetrics.PREFIX + "reconciles.to.ready").tag("name", "deleted-app").meters().isEmpty());
+        assertNull(registry.find(WindupMetrics.PREFIX + "api.calls").tag("name", "deleted-app").counter());
+        assertNotNull(registry.find(WindupMetrics.PREFIX + "reconciles.to.ready").tag("name", "other-app").gauge());
+        // Not tagged by Windup
+        assertFalse(registry.find(WindupMetrics.PREFIX + "reconciles.to.ready.distribution").meters().isEmpty());
+        assertEquals(Duration.ofSeconds(10), tracker.onNotReady(deleted));
+    }
+
+    private static Windup windup(String name) {
+        final var cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace("test")
+                .build()
+        );
+        return cr;
+    }
+}
@@ -0,0 +1,92 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentConditionBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RolloutTrackerTest {
+
+    private final RolloutTracker tracker = new RolloutTracker();
+
+    @Test
+    public void firstRevisionStartsAtCreation() {
+        var rollout = tracker.next("web", deployment(1L, 1L, 1, 1), null, Instant.parse("2023-01-01T00:02:00Z"));
+
+        assertEquals(RolloutTracker.STATE_COMPLETE, rollout.getState());
+        assertEquals("2023-01-01T00:00:00Z", rollout.getStartedAt());
+        assertEquals(120L, rollout.getDurationSeconds());
+    }
+
+    @Test
+    public void rolloutIsTimedFromTheGenerationChange() {
+        var start = Instant.parse("2023-01-01T01:00:00Z");
+        var complete = tracker.next("executor", deployment(1L, 1L, 2, 2), null, start.minusSeconds(600));
+
+        var progressing = tracker.next("executor", deployment(2L, 2L, 1, 2), complete, start);
+        assertEquals(RolloutTracker.STATE_PROGRESSING, progressing.getState());
+        assertEquals(start.toString(), progressing.getStartedAt());
+        assertNull(progressing.getDurationSeconds());
+
+        // Unchanged while progressing, the status is not patched again
+        assertEquals(progressing, tracker.next("executor", deployment(2L, 2L, 1, 2), progressing, start.plusSeconds(30)));
+
+        var done = tracker.next("executor", deployment(2L, 2L, 2, 2), progressing, start.plusSeconds(90));
+        assertEquals(RolloutTracker.STATE_COMPLETE, done.getState());
+        assertEquals(90L, done.getDurationSeconds());
+
+        assertEquals(done, tracker.next("executor", deployment(2L, 2L, 2, 2), done, start.plusSeconds(300)));
+    }
+
+    @Test
+    public void notObservedGenerationIsProgressing() {
+        var previous = tracker.next("web", deployment(1L, 1L, 1, 1), null, Instant.parse("2023-01-01T00:02:00Z"));
+
+        var rollout = tracker.next("web", deployment(2L, 1L, 1, 1), previous, Instant.parse("2023-01-01T01:00:00Z"));
+
+        assertEquals(RolloutTracker.STATE_PROGRESSING, rollout.getState());
+    }
+
+    @Test
+    public void progressDeadlineExceededIsFailed() {
+        var deployment = deployment(2L, 2L, 0, 1);
+        deployment.getStatus().getConditions().add(new DeploymentConditionBuilder()
+                .withType("Progressing")
+                .withStatus("False")
+                .withReason("ProgressDeadlineExceeded")
+                .build());
+
+        var rollout = tracker.next("web", deployment, null, Instant.parse("2023-01-01T01:00:00Z"));
+
+        assertEquals(RolloutTracker.STATE_FAILED, rollout.getState());
+    }
+
+    private static Deployment deployment(long generation, long observedGeneration, int updatedReplicas, int replicas) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("test-app-windup-web-console")
+                .withGeneration(generation)
+                .withCreationTimestamp("2023-01-01T00:00:00Z")
+                .endMetadata()
+                .withNewSpec()
+                .withReplicas(replicas)
+                .withNewStrategy()
+                .withType("RollingUpdate")
+                .endStrategy()
+                .endSpec()
+                .withNewStatus()
+                .withObservedGeneration(observedGeneration)
+                .withReplicas(replicas)
+                .withUpdatedReplicas(updatedReplicas)
+                .withAvailableReplicas(replicas)
+                .withConditions(new ArrayList<>())
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.jboss.windup.operator.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SecondaryIndexersTest {
+
+    @Test
+    public void dependentsAreIndexedOnTheirWindup() {
+        var deployment = new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("test-app-web")
+                .withNamespace("test")
+                .addToLabels(Constants.PART_OF_LABEL, "test-app")
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withKind("Windup")
+                        .withName("test-app")
+                        .withUid("1234")
+                        .build()
+                )
+                .endMetadata()
+                .build();
+
+        assertEquals(List.of("1234"), SecondaryIndexers.ownerUids(deployment));
+        assertEquals(List.of("test/test-app"), SecondaryIndexers.partOf(deployment));
+    }
+
+    @Test
+    public void podsAreOnlyIndexedOnTheirLabel() {
+        var pod = new PodBuilder()
+                .withNewMetadata()
+                .withName("test-app-executor-abcde")
+                .withNamespace("test")
+                .addToLabels(Constants.PART_OF_LABEL, "test-app")
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withKind("ReplicaSet")
+                        .withName("test-app-executor-12345")
+                        .withUid("5678")
+                        .build()
+                )
+                .endMetadata()
+                .build();
+
+        assertEquals(List.of(), SecondaryIndexers.ownerUids(pod));
+        assertEquals(List.of("test/test-app"), SecondaryIndexers.partOf(pod));
+    }
+
+    @Test
+    public void unlabeledResourcesAreNotIndexed() {
+        var pod = new PodBuilder()
+                .withNewMetadata()
+                .withName("other")
+                .withNamespace("test")
+                .endMetadata()
+                .build();
+
+        assertEquals(List.of(), SecondaryIndexers.ownerUids(pod));
+        assertEquals(List.of(), SecondaryIndexers.partOf(pod));
+    }
+}
@@ -0,0 +1,104 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.ShardingConfig;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardFilterTest {
+
+    @Test
+    public void singleShardShouldIgnoreThePodName() {
+        // Random suffix of a Deployment pod made of digits only
+        assertEquals(new ShardFilter.Shard(0, 1), ShardFilter.Shard.of(config(1, null), "windup-operator-7d9f-24567"));
+        assertEquals(new ShardFilter.Shard(0, 1), ShardFilter.Shard.of(config(1, 3), null));
+    }
+
+    @Test
+    public void indexShouldComeFromTheConfigOrTheStatefulSetOrdinal() {
+        assertEquals(new ShardFilter.Shard(2, 3), ShardFilter.Shard.of(config(3, null), "windup-operator-2"));
+        assertEquals(new ShardFilter.Shard(1, 3), ShardFilter.Shard.of(config(3, 1), "windup-operator-2"));
+    }
+
+    @Test
+    public void missingOrOutOfRangeIndexShouldFail() {
+        // Not a StatefulSet, the label is empty
+        assertThrows(IllegalStateException.class, () -> ShardFilter.Shard.of(config(3, null), ""));
+        assertThrows(IllegalStateException.class, () -> ShardFilter.Shard.of(config(3, null), "windup-operator-3"));
+        assertThrows(IllegalStateException.class, () -> ShardFilter.Shard.of(config(3, -1), null));
+    }
+
+    @Test
+    public void eachWindupShouldBeOwnedByExactlyOneShard() {
+        final int count = 3;
+        IntStream.range(0, 100).forEach(i -> {
+            final var cr = windup("app-" + i);
+            final long owners = IntStream.range(0, count)
+                    .filter(index -> new ShardFilter.Shard(index, count).owns(cr))
+                    .count();
+            assertEquals(1, owners, cr.getMetadata().getName());
+        });
+    }
+
+    @Test
+    public void dependentsShouldFollowTheirWindup() {
+        final int count = 3;
+        final var cr = windup("test-app");
+        final int index = ShardFilter.Shard.getShard("test", "test-app", count);
+        final var owner = new ShardFilter.Shard(index, count);
+        final var other = new ShardFilter.Shard((index + 1) % count, count);
+
+        assertTrue(owner.owns(cr));
+        assertTrue(owner.owns(deployment(Constants.PART_OF_LABEL, "test-app")));
+        assertFalse(other.owns(cr));
+        assertFalse(other.owns(deployment(Constants.PART_OF_LABEL, "test-app")));
+
+        // Not part of a Windup, let through by every shard
+        assertTrue(other.owns(deployment("app", "test-app")));
+    }
+
+    private static ShardingConfig config(int count, Integer index) {
+        return new ShardingConfig() {
+            @Override
+            public int count() {
+                return count;
+            }
+
+            @Override
+            public Optional<Integer> index() {
+                return Optional.ofNullable(index);
+            }
+        };
+    }
+
+    private static Windup windup(String name) {
+        final var cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace("test")
+                .build()
+        );
+        return cr;
+    }
+
+    private static Deployment deployment(String label, String value) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("test-app-web")
+                .withNamespace("test")
+                .addToLabels(label, value)
+                .endMetadata()
+                .build();
+    }
+}
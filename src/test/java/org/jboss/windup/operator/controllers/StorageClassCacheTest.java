@@ -0,0 +1,118 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import org.jboss.windup.operator.ReconcileConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableKubernetesMockClient(crud = true)
+public class StorageClassCacheTest {
+
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private StorageClassCache cache;
+    private final AtomicInteger apiCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        cache = new StorageClassCache();
+        cache.k8sClient = client;
+        cache.config = new ReconcileConfig() {
+            @Override
+            public Duration readinessInitialBackoff() {
+                return Duration.ofSeconds(10);
+            }
+
+            @Override
+            public Duration readinessMaxBackoff() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public double readinessBackoffMultiplier() {
+                return 2;
+            }
+
+            @Override
+            public Duration clusterDomainNegativeCacheTtl() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration storageClassCacheTtl() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public int rateLimitMaxReconciliations() {
+                return 5;
+            }
+
+            @Override
+            public Duration rateLimitPeriod() {
+                return Duration.ofSeconds(1);
+            }
+        };
+        at(START);
+    }
+
+    @Test
+    public void storageClassesShouldBeListedOncePerTtl() {
+        client.storage().v1().storageClasses().resource(storageClass("expandable", true, false)).create();
+        client.storage().v1().storageClasses().resource(storageClass("fixed", false, false)).create();
+
+        assertTrue(cache.allowsVolumeExpansion("expandable", apiCalls::incrementAndGet));
+        assertFalse(cache.allowsVolumeExpansion("fixed", apiCalls::incrementAndGet));
+        assertFalse(cache.allowsVolumeExpansion("missing", apiCalls::incrementAndGet));
+        assertEquals(1, apiCalls.get());
+
+        at(START.plus(Duration.ofMinutes(5)));
+        assertTrue(cache.allowsVolumeExpansion("expandable", apiCalls::incrementAndGet));
+        assertEquals(2, apiCalls.get());
+    }
+
+    @Test
+    public void claimWithoutStorageClassShouldUseTheDefaultOne() {
+        final var storageClasses = List.of(
+                storageClass("fixed", false, false),
+                storageClass("default", true, true)
+        );
+
+        assertEquals("default", StorageClassCache.find(storageClasses, null).orElseThrow().getMetadata().getName());
+        assertEquals("fixed", StorageClassCache.find(storageClasses, "fixed").orElseThrow().getMetadata().getName());
+        assertTrue(StorageClassCache.find(List.of(storageClass("fixed", false, false)), null).isEmpty());
+    }
+
+    private void at(Instant instant) {
+        cache.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static StorageClass storageClass(String name, boolean allowVolumeExpansion, boolean isDefault) {
+        return new StorageClassBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .addToAnnotations(StorageClassCache.DEFAULT_CLASS_ANNOTATION, String.valueOf(isDefault))
+                .endMetadata()
+                .withProvisioner("kubernetes.io/no-provisioner")
+                .withAllowVolumeExpansion(allowVolumeExpansion)
+                .build();
+    }
+}
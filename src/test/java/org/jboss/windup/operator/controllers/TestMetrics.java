@@ -0,0 +1,18 @@
+package org.jboss.windup.operator.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics of the tests outside of this package, which can not set the registry of {@link WindupMetrics}.
+ */
+public final class TestMetrics {
+
+    private TestMetrics() {
+    }
+
+    public static WindupMetrics newMetrics(MeterRegistry registry) {
+        WindupMetrics metrics = new WindupMetrics();
+        metrics.registry = registry;
+        return metrics;
+    }
+}
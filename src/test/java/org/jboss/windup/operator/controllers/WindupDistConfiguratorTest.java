@@ -0,0 +1,70 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.DBSecret;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WindupDistConfiguratorTest {
+
+    @Test
+    public void databaseCredentialsShouldBeReadFromTheSecret() {
+        Windup cr = newWindup(false);
+
+        final var envVars = new WindupDistConfigurator(cr).getAllEnvVars();
+
+        Map.of(
+                "DB_USERNAME", Constants.DB_SECRET_USERNAME,
+                "DB_PASSWORD", Constants.DB_SECRET_PASSWORD,
+                "DB_DATABASE", Constants.DB_SECRET_DATABASE_NAME
+        ).forEach((name, key) -> {
+            final var secretKeyRef = getEnvVar(cr, name).orElseThrow().getValueFrom().getSecretKeyRef();
+            assertEquals(DBSecret.getSecretName(cr), secretKeyRef.getName());
+            assertEquals(key, secretKeyRef.getKey());
+        });
+        assertTrue(envVars.stream().noneMatch(envVar -> envVar.getName().equals("DB_SERVICE_PREFIX_MAPPING")));
+    }
+
+    @Test
+    public void databaseShouldBeReachedThroughThePoolerWhenEnabled() {
+        Windup cr = newWindup(true);
+
+        assertEquals("test-app-pgbouncer-postgresql=DB", getEnvVar(cr, "DB_SERVICE_PREFIX_MAPPING").orElseThrow().getValue());
+        assertEquals("test-app-pgbouncer-postgresql", getEnvVar(cr, "TEST_APP_PGBOUNCER_POSTGRESQL_SERVICE_HOST").orElseThrow().getValue());
+        assertEquals("6432", getEnvVar(cr, "TEST_APP_PGBOUNCER_POSTGRESQL_SERVICE_PORT").orElseThrow().getValue());
+        assertFalse(getEnvVar(newWindup(false), "TEST_APP_PGBOUNCER_POSTGRESQL_SERVICE_HOST").isPresent());
+    }
+
+    private static Optional<EnvVar> getEnvVar(Windup cr, String name) {
+        return new WindupDistConfigurator(cr).getAllEnvVars().stream()
+                .filter(envVar -> envVar.getName().equals(name))
+                .findFirst();
+    }
+
+    private static Windup newWindup(boolean poolerEnabled) {
+        Windup cr = new Windup();
+        cr.setMetadata(new ObjectMetaBuilder()
+                .withName("test-app")
+                .withNamespace("test")
+                .build()
+        );
+        cr.getSpec().setDatabaseSpec(WindupSpec.DatabaseSpec.builder()
+                .connectionPoolerSpec(WindupSpec.ConnectionPoolerSpec.builder()
+                        .enabled(poolerEnabled)
+                        .build()
+                )
+                .build()
+        );
+        return cr;
+    }
+}
@@ -0,0 +1,281 @@
+package org.jboss.windup.operator.controllers;
+
+import io.fabric8.kubernetes.api.model.LoadBalancerIngressBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatusBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressStatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.Operator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import org.jboss.windup.operator.Constants;
+import org.jboss.windup.operator.cdrs.v2alpha1.Windup;
+import org.jboss.windup.operator.cdrs.v2alpha1.WindupStatusCondition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reconciles hundreds of Windup instances against the mock API server and writes a JSON report:
+ * throughput, p50/p99 reconcile latency, API requests per Windup and heap. Run with {@code mvn test -Ploadtest}.
+ */
+@QuarkusTest
+@WithKubernetesTestServer
+@EnabledIfSystemProperty(named = "windup.loadtest.instances", matches = "\\d+")
+public class WindupReconcilerLoadTest {
+
+    public static final String NAME_PREFIX = "loadtest-";
+
+    @KubernetesTestServer
+    KubernetesServer server;
+
+    @Inject
+    KubernetesClient client;
+
+    @Inject
+    Operator operator;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicLong harnessRequests = new AtomicLong();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private ScheduledExecutorService kubelet;
+
+    @BeforeEach
+    public void startOperator() {
+        // The reconcile and queue wait timers are tagged by Windup, the buckets of their histograms are merged for the percentiles
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals(WindupMetrics.PREFIX + "reconcile")
+                        || id.getName().equals(WindupMetrics.PREFIX + "reconcile.queue.wait")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        });
+
+        operator.start();
+
+        kubelet = Executors.newSingleThreadScheduledExecutor();
+        kubelet.scheduleWithFixedDelay(this::simulateReadiness, 250, 250, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    public void stopOperator() {
+        kubelet.shutdownNow();
+        operator.stop();
+    }
+
+    @Test
+    public void reconcileThroughput() throws IOException {
+        final int instances = Integer.getInteger("windup.loadtest.instances");
+        final var timeout = Duration.ofMinutes(Long.getLong("windup.loadtest.timeout-minutes", 30));
+        final var report = Path.of(System.getProperty("windup.loadtest.report", "target/loadtest-report.json"));
+        final var namespace = client.getNamespace();
+
+        final long requestsBefore = server.getKubernetesMockServer().getRequestCount();
+        final long start = System.nanoTime();
+
+        IntStream.range(0, instances).forEach(i -> {
+            final var app = new Windup();
+            app.setMetadata(new ObjectMetaBuilder()
+                    .withName(String.format("%s%04d", NAME_PREFIX, i))
+                    .withNamespace(namespace)
+                    .build()
+            );
+            harnessRequests.incrementAndGet();
+            client.resource(app).create();
+        });
+
+        await()
+                .pollInterval(Duration.ofSeconds(1))
+                .atMost(timeout)
+                .until(() -> readyWindups(namespace) == instances);
+
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        final long apiRequests = server.getKubernetesMockServer().getRequestCount() - requestsBefore - harnessRequests.get();
+
+        final var reconcileTimers = registry.find(WindupMetrics.PREFIX + "reconcile").timers().stream()
+                .filter(timer -> Objects.requireNonNullElse(timer.getId().getTag("name"), "").startsWith(NAME_PREFIX))
+                .toList();
+        final var queueWaitTimers = registry.find(WindupMetrics.PREFIX + "reconcile.queue.wait").timers().stream()
+                .filter(timer -> Objects.requireNonNullElse(timer.getId().getTag("name"), "").startsWith(NAME_PREFIX))
+                .toList();
+        final long reconciles = reconcileTimers.stream().mapToLong(Timer::count).sum();
+        final double dependentApiCalls = registry.find(WindupMetrics.PREFIX + "api.calls").counters().stream()
+                .filter(counter -> Objects.requireNonNullElse(counter.getId().getTag("name"), "").startsWith(NAME_PREFIX))
+                .mapToDouble(Counter::count)
+                .sum();
+
+        sampleHeap();
+        System.gc();
+        final long heapAfterGcBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        final var latency = new LinkedHashMap<String, Object>();
+        latency.put("p50", percentileMillis(reconcileTimers, 0.5));
+        latency.put("p99", percentileMillis(reconcileTimers, 0.99));
+        latency.put("max", reconcileTimers.stream().mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS)).max().orElse(0));
+
+        final var queueWait = new LinkedHashMap<String, Object>();
+        queueWait.put("p50", percentileMillis(queueWaitTimers, 0.5));
+        queueWait.put("p99", percentileMillis(queueWaitTimers, 0.99));
+
+        final var result = new LinkedHashMap<String, Object>();
+        result.put("instances", instances);
+        result.put("secondsToAllReady", elapsed.toMillis() / 1000.0);
+        result.put("reconciles", reconciles);
+        result.put("reconcilesPerSecond", reconciles / (elapsed.toMillis() / 1000.0));
+        result.put("reconcileLatencyMillis", latency);
+        result.put("queueWaitMillis", queueWait);
+        result.put("apiRequests", apiRequests);
+        result.put("apiRequestsPerWindup", (double) apiRequests / instances);
+        result.put("dependentApiCallsPerWindup", dependentApiCalls / instances);
+        result.put("heapPeakBytes", peakHeapBytes.get());
+        result.put("heapAfterGcBytes", heapAfterGcBytes);
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, Serialization.jsonMapper().writerWithDefaultPrettyPrinter().writeValueAsString(result));
+
+        assertEquals(instances, readyWindups(namespace), "Not all the Windup instances became ready");
+    }
+
+    private long readyWindups(String namespace) {
+        harnessRequests.incrementAndGet();
+        return client.resources(Windup.class).inNamespace(namespace).list().getItems().stream()
+                .filter(windup -> windup.getMetadata().getName().startsWith(NAME_PREFIX))
+                .filter(windup -> windup.getStatus() != null && windup.getStatus().getConditions() != null)
+                .map(windup -> windup.getStatus().getConditions())
+                .filter(conditions -> !conditions.isEmpty())
+                .filter(conditions -> conditions.stream().allMatch(condition -> Boolean.TRUE.equals(condition.getStatus())))
+                .filter(conditions -> conditions.stream().anyMatch(condition -> WindupStatusCondition.INGRESS_READY.equals(condition.getType())))
+                .count();
+    }
+
+    /**
+     * There is no kubelet or ingress controller behind the mock server, their status is written here.
+     */
+    private void simulateReadiness() {
+        try {
+            sampleHeap();
+
+            harnessRequests.incrementAndGet();
+            for (Deployment deployment : client.apps().deployments()
+                    .inNamespace(client.getNamespace())
+                    .withLabel(Constants.MANAGED_BY_LABEL, Constants.MANAGED_BY_VALUE)
+                    .list()
+                    .getItems()) {
+                final int replicas = Objects.requireNonNullElse(deployment.getSpec().getReplicas(), 1);
+                final var status = deployment.getStatus();
+                if (status != null
+                        && Objects.equals(status.getObservedGeneration(), deployment.getMetadata().getGeneration())
+                        && Objects.equals(status.getReadyReplicas(), replicas)) {
+                    continue;
+                }
+
+                harnessRequests.incrementAndGet();
+                client.apps().deployments().resource(deployment).editStatus(d -> {
+                    d.setStatus(new DeploymentStatusBuilder()
+                            .withObservedGeneration(d.getMetadata().getGeneration())
+                            .withReplicas(replicas)
+                            .withUpdatedReplicas(replicas)
+                            .withReadyReplicas(replicas)
+                            .withAvailableReplicas(replicas)
+                            .build()
+                    );
+                    return d;
+                });
+            }
+
+            harnessRequests.incrementAndGet();
+            for (Ingress ingress : client.network().v1().ingresses()
+                    .inNamespace(client.getNamespace())
+                    .withLabel(Constants.MANAGED_BY_LABEL, Constants.MANAGED_BY_VALUE)
+                    .list()
+                    .getItems()) {
+                if (ingress.getStatus() != null && ingress.getStatus().getLoadBalancer() != null
+                        && ingress.getStatus().getLoadBalancer().getIngress() != null
+                        && !ingress.getStatus().getLoadBalancer().getIngress().isEmpty()) {
+                    continue;
+                }
+
+                harnessRequests.incrementAndGet();
+                client.network().v1().ingresses().resource(ingress).editStatus(i -> {
+                    i.setStatus(new IngressStatusBuilder()
+                            .withNewLoadBalancer()
+                            .withIngress(new LoadBalancerIngressBuilder().withIp("10.0.0.1").build())
+                            .endLoadBalancer()
+                            .build()
+                    );
+                    return i;
+                });
+            }
+        } catch (RuntimeException e) {
+            // Conflicts with the operator writes are retried on the next tick
+        }
+    }
+
+    private void sampleHeap() {
+        peakHeapBytes.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+    }
+
+    /**
+     * Upper bound of the bucket holding the percentile, the Prometheus registry keeps cumulative bucket counts.
+     */
+    private static double percentileMillis(List<Timer> timers, double percentile) {
+        final var buckets = new TreeMap<Double, Double>();
+        long count = 0;
+        for (Timer timer : timers) {
+            final var snapshot = timer.takeSnapshot();
+            count += snapshot.count();
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+            }
+        }
+
+        final double rank = percentile * count;
+        return buckets.entrySet().stream()
+                .filter(bucket -> bucket.getValue() >= rank)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseGet(() -> timers.stream().mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS)).max().orElse(0));
+    }
+
+}
@@ -5,6 +5,7 @@ import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.Operator;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.junit.QuarkusTest;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.windup.operator.cdrs.v2alpha1.DBDeployment;
@@ -50,6 +51,9 @@ public class WindupReconcilerTest {
     @Inject
     Operator operator;
 
+    @Inject
+    MeterRegistry registry;
+
     @BeforeEach
     public void startOperator() {
         operator.start();
@@ -210,6 +214,12 @@ public class WindupReconcilerTest {
                     final var serviceBackend = path.getBackend().getService();
                     assertThat(serviceBackend.getName(), is(WebService.getServiceName(app)));
                     assertThat(serviceBackend.getPort().getNumber(), is(8080));
+
+                    // Status patches are counted with the API calls of the dependents
+                    final var statusPatches = registry.find("windup.operator.api.calls")
+                            .tags("name", TEST_APP, "dependent", "windup", "verb", "patch")
+                            .counter();
+                    assertTrue(statusPatches != null && statusPatches.count() > 0, "Status patches not counted");
                 });
     }
 }
\ No newline at end of file